@@ -0,0 +1,47 @@
+package academy.devdojo.springboot2.reactive.config;
+
+import academy.devdojo.springboot2.reactive.repository.DevDojoUserRepository;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.config.annotation.method.configuration.EnableReactiveMethodSecurity;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.userdetails.ReactiveUserDetailsService;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+
+/**
+ * Same rules as the blocking application's SecurityConfig, users come from the same dev_dojo_user table
+ */
+@EnableWebFluxSecurity
+@EnableReactiveMethodSecurity
+public class SecurityConfig {
+
+    @Bean
+    public SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+        return http.csrf().disable()
+                .authorizeExchange()
+                .pathMatchers("/animes/admin/**").hasRole("ADMIN")
+                .pathMatchers("/animes/**").hasRole("USER")
+                .pathMatchers("/actuator/**").permitAll()
+                .anyExchange()
+                .authenticated()
+                .and()
+                .formLogin()
+                .and()
+                .httpBasic()
+                .and()
+                .build();
+    }
+
+    @Bean
+    public ReactiveUserDetailsService reactiveUserDetailsService(DevDojoUserRepository devDojoUserRepository) {
+        return username -> devDojoUserRepository.findByUsername(username).cast(UserDetails.class);
+    }
+
+    @Bean
+    public PasswordEncoder passwordEncoder() {
+        return PasswordEncoderFactories.createDelegatingPasswordEncoder();
+    }
+}
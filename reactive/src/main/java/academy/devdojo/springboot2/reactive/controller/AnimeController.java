@@ -0,0 +1,74 @@
+package academy.devdojo.springboot2.reactive.controller;
+
+import academy.devdojo.springboot2.reactive.domain.Anime;
+import academy.devdojo.springboot2.reactive.service.AnimeService;
+import academy.devdojo.springboot2.reactive.wrapper.CompactPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.validation.Valid;
+
+@RestController
+@RequestMapping("/animes")
+@RequiredArgsConstructor
+public class AnimeController {
+
+    private final AnimeService animeService;
+
+    @GetMapping
+    public Mono<CompactPage<Anime>> list(@RequestParam(defaultValue = "0") int page,
+                                         @RequestParam(defaultValue = "20") int size) {
+        return animeService.listAll(page, size);
+    }
+
+    /**
+     * Written as a JSON array, or one anime at a time when the client accepts application/x-ndjson
+     */
+    @GetMapping(path = "/all", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Flux<Anime> listAllNonPageable() {
+        return animeService.listAllNonPageable();
+    }
+
+    @GetMapping(path = "/{id}")
+    public Mono<Anime> findById(@PathVariable Long id) {
+        return animeService.findByIdOrThrowBadRequestException(id);
+    }
+
+    @GetMapping(path = "/search")
+    public Mono<Anime> search(@RequestParam String name) {
+        return animeService.findByNameOrThrowBadRequestException(name);
+    }
+
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping
+    @ResponseStatus(HttpStatus.CREATED)
+    public Mono<Anime> save(@RequestBody @Valid Anime anime) {
+        return animeService.save(anime);
+    }
+
+    @DeleteMapping(path = "/admin/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> delete(@PathVariable Long id) {
+        return animeService.delete(id);
+    }
+
+    @PutMapping(path = "/{id}")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public Mono<Void> replace(@PathVariable Long id, @RequestBody @Valid Anime anime) {
+        return animeService.replace(id, anime);
+    }
+}
@@ -0,0 +1,33 @@
+package academy.devdojo.springboot2.reactive.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import lombok.With;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.relational.core.mapping.Table;
+
+import javax.validation.constraints.NotEmpty;
+
+/**
+ * Mapped to the same anime table the blocking application creates
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@With
+@Table("anime")
+public class Anime {
+
+    @Id
+    private Long id;
+
+    @NotEmpty(message = "The anime name cannot be empty")
+    private String name;
+
+    @Version
+    private Long version;
+}
@@ -0,0 +1,24 @@
+package academy.devdojo.springboot2.reactive.repository;
+
+import academy.devdojo.springboot2.reactive.domain.Anime;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface AnimeRepository extends ReactiveCrudRepository<Anime, Long> {
+
+    Mono<Anime> findByName(String name);
+
+    @Query("select * from anime order by id limit :size offset :offset")
+    Flux<Anime> findPage(long offset, int size);
+
+    @Modifying
+    @Query("update anime set name = :name, version = version + 1 where id = :id")
+    Mono<Integer> updateNameById(Long id, String name);
+
+    @Modifying
+    @Query("update anime set name = :name, version = version + 1 where id = :id and version = :version")
+    Mono<Integer> updateNameByIdAndVersion(Long id, String name, Long version);
+}
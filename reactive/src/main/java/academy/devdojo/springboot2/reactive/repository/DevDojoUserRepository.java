@@ -0,0 +1,10 @@
+package academy.devdojo.springboot2.reactive.repository;
+
+import academy.devdojo.springboot2.reactive.domain.DevDojoUser;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import reactor.core.publisher.Mono;
+
+public interface DevDojoUserRepository extends ReactiveCrudRepository<DevDojoUser, Long> {
+
+    Mono<DevDojoUser> findByUsername(String username);
+}
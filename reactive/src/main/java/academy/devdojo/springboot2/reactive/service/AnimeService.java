@@ -0,0 +1,74 @@
+package academy.devdojo.springboot2.reactive.service;
+
+import academy.devdojo.springboot2.reactive.domain.Anime;
+import academy.devdojo.springboot2.reactive.repository.AnimeRepository;
+import academy.devdojo.springboot2.reactive.wrapper.CompactPage;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Service
+@RequiredArgsConstructor
+public class AnimeService {
+
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final AnimeRepository respository;
+
+    /**
+     * Content and count queries run concurrently on the same connection pool
+     */
+    public Mono<CompactPage<Anime>> listAll(int page, int size) {
+        if (page < 0 || size < 1) {
+            return Mono.error(new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid page or size"));
+        }
+        int pageSize = Math.min(size, MAX_PAGE_SIZE);
+        return Mono.zip(respository.findPage((long) page * pageSize, pageSize).collectList(), respository.count())
+                .map(pageAndCount -> CompactPage.of(pageAndCount.getT1(), page, pageSize, pageAndCount.getT2()));
+    }
+
+    public Flux<Anime> listAllNonPageable() {
+        return respository.findAll();
+    }
+
+    public Mono<Anime> findByIdOrThrowBadRequestException(Long id) {
+        return respository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Anime not Found")));
+    }
+
+    public Mono<Anime> findByNameOrThrowBadRequestException(String name) {
+        return respository.findByName(name)
+                .switchIfEmpty(Mono.error(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST, "Anime not Found")));
+    }
+
+    public Mono<Anime> save(Anime anime) {
+        return respository.save(anime.withId(null).withVersion(null));
+    }
+
+    public Mono<Void> delete(Long id) {
+        return findByIdOrThrowBadRequestException(id)
+                .flatMap(respository::delete);
+    }
+
+    /**
+     * A single update, like the blocking API: without a version the last write wins, with one a
+     * concurrent change answers 409 instead of failing the read-modify-write with a 500
+     */
+    public Mono<Void> replace(Long id, Anime anime) {
+        Long version = anime.getVersion();
+        Mono<Integer> updatedRows = version == null
+                ? respository.updateNameById(id, anime.getName())
+                : respository.updateNameByIdAndVersion(id, anime.getName(), version);
+        return updatedRows.flatMap(rows -> rows > 0 ? Mono.<Void>empty() : notUpdated(id, version));
+    }
+
+    private Mono<Void> notUpdated(Long id, Long version) {
+        Mono<Boolean> changedByAnotherRequest = version == null ? Mono.just(false) : respository.existsById(id);
+        return changedByAnotherRequest.flatMap(changed -> Mono.error(changed
+                ? new ResponseStatusException(HttpStatus.CONFLICT, "Anime was changed by another request")
+                : new ResponseStatusException(HttpStatus.BAD_REQUEST, "Anime not Found")));
+    }
+}
@@ -0,0 +1,41 @@
+package academy.devdojo.springboot2.reactive.wrapper;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Same JSON as the page returned by GET /animes in the blocking application
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CompactPage<T> {
+
+    private List<T> content;
+    private int number;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+    private int numberOfElements;
+    private boolean first;
+    private boolean last;
+
+    public static <T> CompactPage<T> of(List<T> content, int number, int size, long totalElements) {
+        int totalPages = size == 0 ? 1 : (int) Math.ceil((double) totalElements / size);
+        return CompactPage.<T>builder()
+                .content(content)
+                .number(number)
+                .size(size)
+                .totalElements(totalElements)
+                .totalPages(totalPages)
+                .numberOfElements(content.size())
+                .first(number == 0)
+                .last(number + 1 >= totalPages)
+                .build();
+    }
+}
@@ -0,0 +1,13 @@
+create table if not exists anime (
+    id bigint auto_increment primary key,
+    name varchar(255),
+    version bigint not null default 0
+);
+
+create table if not exists dev_dojo_user (
+    id bigint auto_increment primary key,
+    name varchar(255),
+    username varchar(255),
+    password varchar(255),
+    authorities varchar(255)
+);
@@ -0,0 +1,184 @@
+package academy.devdojo.springboot2.reactive.controller;
+
+import academy.devdojo.springboot2.reactive.domain.Anime;
+import academy.devdojo.springboot2.reactive.domain.DevDojoUser;
+import academy.devdojo.springboot2.reactive.repository.AnimeRepository;
+import academy.devdojo.springboot2.reactive.repository.DevDojoUserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+
+import static org.springframework.web.reactive.function.client.ExchangeFilterFunctions.basicAuthentication;
+
+@SpringBootTest
+@AutoConfigureWebTestClient
+class AnimeControllerTest {
+
+    private static final String PASSWORD = "{bcrypt}$2a$10$hSTIR1LEGbkA6US1B0IJVeoTsHrFKzPwXSeE40SvIFckopmMHoUTm";
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private AnimeRepository animeRepository;
+
+    @Autowired
+    private DevDojoUserRepository devDojoUserRepository;
+
+    private Anime savedAnime;
+
+    @BeforeEach
+    void setUp() {
+        savedAnime = animeRepository.deleteAll()
+                .then(animeRepository.save(Anime.builder().name("Hajime no Ippo").build()))
+                .block();
+        devDojoUserRepository.deleteAll()
+                .thenMany(Flux.just(
+                        DevDojoUser.builder().name("DevDojo Academy").username("devdojo")
+                                .password(PASSWORD).authorities("ROLE_USER").build(),
+                        DevDojoUser.builder().name("William Suane").username("william")
+                                .password(PASSWORD).authorities("ROLE_USER,ROLE_ADMIN").build()))
+                .flatMap(devDojoUserRepository::save)
+                .blockLast();
+    }
+
+    @Test
+    @DisplayName("list returns list of anime inside page object when successful")
+    void list_ReturnsListOfAnimesInsidePageObject_WhenSuccessful() {
+        asUser().get().uri("/animes")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].name").isEqualTo(savedAnime.getName())
+                .jsonPath("$.totalElements").isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("listAll returns flux of anime when successful")
+    void listAll_ReturnsFluxOfAnime_WhenSuccessful() {
+        asUser().get().uri("/animes/all")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(Anime.class)
+                .hasSize(1)
+                .contains(savedAnime);
+    }
+
+    @Test
+    @DisplayName("findById returns bad request when anime does not exist")
+    void findById_ReturnsBadRequest_WhenAnimeDoesNotExist() {
+        asUser().get().uri("/animes/{id}", savedAnime.getId() + 1)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("save creates anime when user is admin")
+    void save_CreatesAnime_WhenUserIsAdmin() {
+        asAdmin().post().uri("/animes")
+                .bodyValue(Anime.builder().name("Overlord").build())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isNotEmpty()
+                .jsonPath("$.name").isEqualTo("Overlord");
+    }
+
+    @Test
+    @DisplayName("save returns forbidden when user is not admin")
+    void save_ReturnsForbidden_WhenUserIsNotAdmin() {
+        asUser().post().uri("/animes")
+                .bodyValue(Anime.builder().name("Overlord").build())
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    @DisplayName("delete returns forbidden when user is not admin")
+    void delete_ReturnsForbidden_WhenUserIsNotAdmin() {
+        asUser().delete().uri("/animes/admin/{id}", savedAnime.getId())
+                .exchange()
+                .expectStatus().isForbidden();
+    }
+
+    @Test
+    @DisplayName("delete removes anime when user is admin")
+    void delete_RemovesAnime_WhenUserIsAdmin() {
+        asAdmin().delete().uri("/animes/admin/{id}", savedAnime.getId())
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    @Test
+    @DisplayName("list returns twenty animes per page by default")
+    void list_ReturnsTwentyAnimesPerPage_WhenSizeIsNotGiven() {
+        asUser().get().uri("/animes")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.size").isEqualTo(20);
+    }
+
+    @Test
+    @DisplayName("replace updates anime when successful")
+    void replace_UpdatesAnime_WhenSuccessful() {
+        asUser().put().uri("/animes/{id}", savedAnime.getId())
+                .bodyValue(Anime.builder().name("Overlord").build())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        asUser().get().uri("/animes/{id}", savedAnime.getId())
+                .exchange()
+                .expectBody()
+                .jsonPath("$.name").isEqualTo("Overlord")
+                .jsonPath("$.version").isEqualTo(savedAnime.getVersion() + 1);
+    }
+
+    @Test
+    @DisplayName("replace returns conflict when the anime was changed by another request")
+    void replace_ReturnsConflict_WhenVersionIsStale() {
+        Anime staleAnime = Anime.builder().name("Overlord").version(savedAnime.getVersion()).build();
+        asUser().put().uri("/animes/{id}", savedAnime.getId())
+                .bodyValue(staleAnime)
+                .exchange()
+                .expectStatus().isNoContent();
+
+        asUser().put().uri("/animes/{id}", savedAnime.getId())
+                .bodyValue(staleAnime)
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+    }
+
+    @Test
+    @DisplayName("replace returns bad request when anime does not exist")
+    void replace_ReturnsBadRequest_WhenAnimeDoesNotExist() {
+        asUser().put().uri("/animes/{id}", savedAnime.getId() + 1)
+                .bodyValue(Anime.builder().name("Overlord").version(0L).build())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    @DisplayName("list returns unauthorized when there are no credentials")
+    void list_ReturnsUnauthorized_WhenThereAreNoCredentials() {
+        webTestClient.get().uri("/animes")
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isUnauthorized();
+    }
+
+    private WebTestClient asUser() {
+        return webTestClient.mutate().filter(basicAuthentication("devdojo", "academy")).build();
+    }
+
+    private WebTestClient asAdmin() {
+        return webTestClient.mutate().filter(basicAuthentication("william", "academy")).build();
+    }
+}
@@ -0,0 +1,113 @@
+package academy.devdojo.springboot2.benchmark;
+
+import academy.devdojo.springboot2.Springboot2EssentialsApplication;
+import academy.devdojo.springboot2.domain.Anime;
+import academy.devdojo.springboot2.domain.DevDojoUser;
+import academy.devdojo.springboot2.repository.AnimeBatchRepository;
+import academy.devdojo.springboot2.repository.DevDojoUserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Throughput of the cached listings over HTTP with the response cache on and off, on an embedded H2
+ * database holding {@link #ANIMES} animes. Clients accept gzip, as browsers do
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class AnimeResponseCacheBenchmark {
+
+    private static final int ANIMES = 1000;
+    private static final String PASSWORD_HASH = "{bcrypt}$2a$10$hSTIR1LEGbkA6US1B0IJVeoTsHrFKzPwXSeE40SvIFckopmMHoUTm";
+
+    @Param({"on", "off"})
+    public String responseCache;
+
+    private ConfigurableApplicationContext context;
+    private HttpClient httpClient;
+    private HttpRequest firstPage;
+    private HttpRequest all;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(Springboot2EssentialsApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.devtools.restart.enabled=false",
+                        "spring.datasource.url=jdbc:h2:mem:response-cache;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "devdojo.rate-limit.enabled=false",
+                        "devdojo.security.credential-cache.enabled=true",
+                        "devdojo.cache.response.enabled=" + "on".equals(responseCache),
+                        "logging.level.root=WARN")
+                .run();
+
+        context.getBean(DevDojoUserRepository.class).save(DevDojoUser.builder().name("DevDojo Academy")
+                .username("devdojo").password(PASSWORD_HASH).authorities("ROLE_USER").build());
+        List<Anime> animes = IntStream.range(0, ANIMES)
+                .mapToObj(index -> Anime.builder().name("Anime " + index).build())
+                .collect(Collectors.toList());
+        context.getBean(AnimeBatchRepository.class).insertAll(animes);
+
+        String baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+        httpClient = HttpClient.newHttpClient();
+        firstPage = get(baseUrl + "/animes?page=0&size=20");
+        all = get(baseUrl + "/animes/all");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] listFirstPage() throws IOException, InterruptedException {
+        return httpClient.send(firstPage, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+
+    @Benchmark
+    public byte[] listAll() throws IOException, InterruptedException {
+        return httpClient.send(all, HttpResponse.BodyHandlers.ofByteArray()).body();
+    }
+
+    private static HttpRequest get(String uri) {
+        return HttpRequest.newBuilder(URI.create(uri))
+                .header("Authorization", "Basic " + Base64.getEncoder()
+                        .encodeToString("devdojo:academy".getBytes(StandardCharsets.UTF_8)))
+                .header("Accept-Encoding", "gzip")
+                .GET()
+                .build();
+    }
+}
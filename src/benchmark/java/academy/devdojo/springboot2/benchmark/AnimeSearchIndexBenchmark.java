@@ -0,0 +1,98 @@
+package academy.devdojo.springboot2.benchmark;
+
+import academy.devdojo.springboot2.domain.Anime;
+import academy.devdojo.springboot2.search.AnimeSearchIndex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Search and autocomplete on indexes of realistic sizes. Titles are made of common title words
+ * ("the", "no", "of") mixed with generated ones, so short queries hit large posting lists
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class AnimeSearchIndexBenchmark {
+
+    private static final String[] COMMON_WORDS = {"the", "no", "of", "to", "wa", "ga", "and", "season", "movie", "2"};
+    private static final String[] SYLLABLES = {"ka", "ki", "ku", "shi", "ta", "to", "na", "ni", "ru", "ro", "ma", "mi",
+            "yo", "ri", "sa", "ho", "ge", "zu", "do", "ba"};
+    private static final PageRequest FIRST_PAGE = PageRequest.of(0, 20);
+
+    @Param({"10000", "100000", "1000000"})
+    public int titles;
+
+    private AnimeSearchIndex animeSearchIndex;
+
+    @Setup
+    public void setUp() {
+        animeSearchIndex = new AnimeSearchIndex(null, null);
+        Random random = new Random(42);
+        for (long id = 1; id <= titles; id++) {
+            animeSearchIndex.index(id, title(random));
+        }
+        animeSearchIndex.index(titles + 1L, "Shingeki no Kyojin");
+    }
+
+    @Benchmark
+    public Page<Anime> searchCommonWord() {
+        return animeSearchIndex.search("the", FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<Anime> searchShortWord() {
+        return animeSearchIndex.search("no", FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<Anime> searchTitle() {
+        return animeSearchIndex.search("shingeki no kyojin", FIRST_PAGE);
+    }
+
+    @Benchmark
+    public Page<Anime> searchTypo() {
+        return animeSearchIndex.search("shingeki no kyojn", FIRST_PAGE);
+    }
+
+    @Benchmark
+    public List<String> suggest() {
+        return animeSearchIndex.suggest("shi", 10);
+    }
+
+    private static String title(Random random) {
+        StringBuilder title = new StringBuilder();
+        int words = 2 + random.nextInt(4);
+        for (int word = 0; word < words; word++) {
+            if (word > 0) {
+                title.append(' ');
+            }
+            if (random.nextInt(3) == 0) {
+                title.append(COMMON_WORDS[random.nextInt(COMMON_WORDS.length)]);
+                continue;
+            }
+            int syllables = 2 + random.nextInt(3);
+            for (int syllable = 0; syllable < syllables; syllable++) {
+                title.append(SYLLABLES[random.nextInt(SYLLABLES.length)]);
+            }
+        }
+        return title.toString();
+    }
+}
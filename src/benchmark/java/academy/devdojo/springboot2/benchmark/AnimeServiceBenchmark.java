@@ -0,0 +1,100 @@
+package academy.devdojo.springboot2.benchmark;
+
+import academy.devdojo.springboot2.Springboot2EssentialsApplication;
+import academy.devdojo.springboot2.domain.Anime;
+import academy.devdojo.springboot2.repository.AnimeBatchRepository;
+import academy.devdojo.springboot2.responses.AnimeSummary;
+import academy.devdojo.springboot2.service.AnimeService;
+import academy.devdojo.springboot2.wrapper.CompactPage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * AnimeService reads through the whole Spring stack (caching, transactions, Hibernate, Hikari) on an
+ * embedded H2 database holding {@link #ANIMES} animes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AnimeServiceBenchmark {
+
+    private static final int ANIMES = 5000;
+
+    private ConfigurableApplicationContext context;
+    private AnimeService animeService;
+    private long firstId;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(Springboot2EssentialsApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.devtools.restart.enabled=false",
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "logging.level.root=WARN",
+                        "logging.level.org.hibernate.SQL=WARN")
+                .run();
+        animeService = context.getBean(AnimeService.class);
+
+        List<Anime> animes = IntStream.range(0, ANIMES)
+                .mapToObj(index -> Anime.builder().name("Anime " + index).build())
+                .collect(Collectors.toList());
+        firstId = context.getBean(AnimeBatchRepository.class).insertAll(animes).get(0).getId();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Anime findByIdCached() {
+        return animeService.findByIdOrThrowBadRequestException(firstId);
+    }
+
+    @Benchmark
+    public CompactPage<AnimeSummary> listAllFirstPage() {
+        return animeService.listAll(PageRequest.of(0, 20));
+    }
+
+    @Benchmark
+    public CompactPage<AnimeSummary> listAllDeepPage() {
+        return animeService.listAll(PageRequest.of(ANIMES / 20 - 1, 20));
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public List<Anime> listAllNonPageable() {
+        return animeService.listAllNonPageable();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public void streamAllNonPageable(Blackhole blackhole) {
+        animeService.streamAllNonPageable(blackhole::consume);
+    }
+}
@@ -0,0 +1,52 @@
+package academy.devdojo.springboot2.benchmark;
+
+import academy.devdojo.springboot2.config.CachingPasswordEncoder;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.crypto.factory.PasswordEncoderFactories;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * What every HTTP Basic request pays to verify its password, with and without the credential cache
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CachingPasswordEncoderBenchmark {
+
+    private static final String ENCODED_PASSWORD = "{bcrypt}$2a$10$hSTIR1LEGbkA6US1B0IJVeoTsHrFKzPwXSeE40SvIFckopmMHoUTm";
+
+    private PasswordEncoder passwordEncoder;
+    private PasswordEncoder cachingPasswordEncoder;
+
+    @Setup
+    public void setUp() {
+        passwordEncoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
+        cachingPasswordEncoder = new CachingPasswordEncoder(passwordEncoder, Caffeine.newBuilder().maximumSize(100).build());
+        cachingPasswordEncoder.matches("academy", ENCODED_PASSWORD);
+    }
+
+    @Benchmark
+    public boolean bcrypt() {
+        return passwordEncoder.matches("academy", ENCODED_PASSWORD);
+    }
+
+    @Benchmark
+    public boolean cachedVerification() {
+        return cachingPasswordEncoder.matches("academy", ENCODED_PASSWORD);
+    }
+}
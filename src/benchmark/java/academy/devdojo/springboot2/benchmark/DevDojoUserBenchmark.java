@@ -0,0 +1,48 @@
+package academy.devdojo.springboot2.benchmark;
+
+import academy.devdojo.springboot2.domain.DevDojoUser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * getAuthorities runs on every authenticated request and on every authorization decision
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DevDojoUserBenchmark {
+
+    private final DevDojoUser user = DevDojoUser.builder()
+            .username("devdojo")
+            .authorities("ROLE_USER")
+            .build();
+
+    private final DevDojoUser admin = DevDojoUser.builder()
+            .username("william")
+            .authorities("ROLE_USER,ROLE_ADMIN")
+            .build();
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthoritiesOfUser() {
+        return user.getAuthorities();
+    }
+
+    @Benchmark
+    public Collection<? extends GrantedAuthority> getAuthoritiesOfAdmin() {
+        return admin.getAuthorities();
+    }
+}
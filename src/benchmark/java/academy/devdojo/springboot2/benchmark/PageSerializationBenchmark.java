@@ -0,0 +1,97 @@
+package academy.devdojo.springboot2.benchmark;
+
+import academy.devdojo.springboot2.domain.Anime;
+import academy.devdojo.springboot2.responses.AnimeSummary;
+import academy.devdojo.springboot2.wrapper.CompactPage;
+import academy.devdojo.springboot2.wrapper.CompactSlice;
+import academy.devdojo.springboot2.wrapper.PageableResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+/**
+ * Page and slice of entities as GET /animes and GET /animes?count=false used to return them, against the
+ * compact envelopes of summaries they return now, and the client side PageableResponse parsing.
+ * CompactPageTest and CompactSliceTest check the envelope sizes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PageSerializationBenchmark {
+
+    private static final TypeReference<PageableResponse<Anime>> PAGEABLE_RESPONSE = new TypeReference<>() {
+    };
+
+    @Param({"5", "20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<Anime> animePage;
+    private CompactPage<AnimeSummary> compactPage;
+    private Slice<Anime> animeSlice;
+    private CompactSlice<AnimeSummary> compactSlice;
+    private String pageJson;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        List<Anime> animes = LongStream.rangeClosed(1, pageSize)
+                .mapToObj(id -> Anime.builder().id(id).name("Hajime no Ippo " + id).version(0L).build())
+                .collect(Collectors.toList());
+        animePage = new PageImpl<>(animes, PageRequest.of(0, pageSize), 1000);
+        compactPage = CompactPage.of(animePage.map(anime -> new AnimeSummary(anime.getId(), anime.getName(), anime.getVersion())));
+        animeSlice = new SliceImpl<>(animes, PageRequest.of(0, pageSize), true);
+        compactSlice = CompactSlice.of(animeSlice.map(anime -> new AnimeSummary(anime.getId(), anime.getName(), anime.getVersion())));
+        pageJson = objectMapper.writeValueAsString(animePage);
+    }
+
+    @Benchmark
+    public byte[] writePageOfEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(animePage);
+    }
+
+    @Benchmark
+    public byte[] writeCompactPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(compactPage);
+    }
+
+    @Benchmark
+    public byte[] writeSliceOfEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(animeSlice);
+    }
+
+    @Benchmark
+    public byte[] writeCompactSlice() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(compactSlice);
+    }
+
+    @Benchmark
+    public PageableResponse<Anime> readPageableResponse() throws JsonProcessingException {
+        return objectMapper.readValue(pageJson, PAGEABLE_RESPONSE);
+    }
+}
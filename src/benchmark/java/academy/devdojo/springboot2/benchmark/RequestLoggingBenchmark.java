@@ -0,0 +1,101 @@
+package academy.devdojo.springboot2.benchmark;
+
+import academy.devdojo.springboot2.Springboot2EssentialsApplication;
+import academy.devdojo.springboot2.domain.Anime;
+import academy.devdojo.springboot2.domain.DevDojoUser;
+import academy.devdojo.springboot2.repository.AnimeRepository;
+import academy.devdojo.springboot2.repository.DevDojoUserRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of GET /animes/by-id/{id} over HTTP with logging off, with the application logging at DEBUG as
+ * text and at DEBUG as JSON. Console output is discarded so the numbers show the cost of creating, queueing
+ * and encoding the events rather than the speed of the terminal
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RequestLoggingBenchmark {
+
+    private static final String PASSWORD_HASH = "{bcrypt}$2a$10$hSTIR1LEGbkA6US1B0IJVeoTsHrFKzPwXSeE40SvIFckopmMHoUTm";
+
+    @Param({"off", "text", "json"})
+    public String logging;
+
+    private ConfigurableApplicationContext context;
+    private PrintStream originalOut;
+    private HttpClient httpClient;
+    private HttpRequest request;
+
+    @Setup
+    public void setUp() {
+        originalOut = System.out;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+
+        context = new SpringApplicationBuilder(Springboot2EssentialsApplication.class)
+                .profiles("json".equals(logging) ? new String[]{"json"} : new String[0])
+                .properties(
+                        "server.port=0",
+                        "spring.devtools.restart.enabled=false",
+                        "spring.datasource.url=jdbc:h2:mem:logging;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "devdojo.rate-limit.enabled=false",
+                        "devdojo.security.credential-cache.enabled=true",
+                        "logging.level.root=" + ("off".equals(logging) ? "OFF" : "INFO"),
+                        "logging.level.academy.devdojo.springboot2=" + ("off".equals(logging) ? "OFF" : "DEBUG"))
+                .run();
+
+        context.getBean(DevDojoUserRepository.class).save(DevDojoUser.builder().name("DevDojo Academy")
+                .username("devdojo").password(PASSWORD_HASH).authorities("ROLE_USER").build());
+        Long id = context.getBean(AnimeRepository.class).save(Anime.builder().name("Boku no Hero").build()).getId();
+
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        httpClient = HttpClient.newHttpClient();
+        request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/animes/by-id/" + id))
+                .header("Authorization", "Basic " + Base64.getEncoder()
+                        .encodeToString("devdojo:academy".getBytes(StandardCharsets.UTF_8)))
+                .GET()
+                .build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+        System.setOut(originalOut);
+    }
+
+    @Benchmark
+    public int findByIdAuthenticationPrincipal() throws IOException, InterruptedException {
+        return httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray()).statusCode();
+    }
+}
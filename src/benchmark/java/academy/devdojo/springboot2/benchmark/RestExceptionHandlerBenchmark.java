@@ -0,0 +1,65 @@
+package academy.devdojo.springboot2.benchmark;
+
+import academy.devdojo.springboot2.exception.BadRequestException;
+import academy.devdojo.springboot2.exception.BadRequestExceptionDetails;
+import academy.devdojo.springboot2.handler.RestExceptionHandler;
+import academy.devdojo.springboot2.requests.AnimeRequestBody;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Error payloads built for every rejected request, the validation one goes through the field errors
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RestExceptionHandlerBenchmark {
+
+    private final RestExceptionHandler restExceptionHandler = new RestExceptionHandler();
+    private final BadRequestException badRequestException = new BadRequestException("Anime not Found");
+    private final WebRequest webRequest = new ServletWebRequest(new MockHttpServletRequest());
+    private MethodArgumentNotValidException methodArgumentNotValidException;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        BeanPropertyBindingResult bindingResult = new BeanPropertyBindingResult(new AnimeRequestBody(), "animeRequestBody");
+        bindingResult.rejectValue("name", "NotEmpty", "The anime name cannot be empty");
+        MethodParameter parameter = new MethodParameter(
+                RestExceptionHandlerBenchmark.class.getDeclaredMethod("validated", AnimeRequestBody.class), 0);
+        methodArgumentNotValidException = new MethodArgumentNotValidException(parameter, bindingResult);
+    }
+
+    @Benchmark
+    public ResponseEntity<BadRequestExceptionDetails> handleBadRequestException() {
+        return restExceptionHandler.handleBadRequestException(badRequestException);
+    }
+
+    @Benchmark
+    public ResponseEntity<Object> handleMethodArgumentNotValid() throws Exception {
+        return restExceptionHandler.handleException(methodArgumentNotValidException, webRequest);
+    }
+
+    @SuppressWarnings("unused")
+    private void validated(AnimeRequestBody animeRequestBody) {
+    }
+}
@@ -0,0 +1,365 @@
+package academy.devdojo.springboot2.loadtest;
+
+import academy.devdojo.springboot2.Springboot2EssentialsApplication;
+import academy.devdojo.springboot2.domain.Anime;
+import academy.devdojo.springboot2.domain.DevDojoUser;
+import academy.devdojo.springboot2.repository.AnimeBatchRepository;
+import academy.devdojo.springboot2.repository.DevDojoUserRepository;
+import academy.devdojo.springboot2.search.AnimeSearchIndex;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.extern.log4j.Log4j2;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.apache.logging.log4j.Level;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+/**
+ * Open model load generator: requests are sent at a fixed rate whether or not earlier ones finished,
+ * the way independent clients behave.
+ * <p>
+ * Arguments are key=value pairs: rate (requests per second, 200), warmup and duration (seconds, 10 and 60),
+ * animes (rows seeded in the embedded database, 1000), url (an already running instance seeded with the
+ * devdojo/william users and started with devdojo.rate-limit.enabled=false, otherwise its per principal
+ * limit answers most requests with 429 and the run stops after the warmup; when absent the application
+ * is started on an embedded H2 database), profiles
+ * (Spring profiles of the embedded application, pool-small or pool-large compare connection pool sizes),
+ * async (true sends the list and find by id reads to /animes/async and enables it on the embedded
+ * application, false by default, the response cache only serves the blocking listings) and report (directory of the JSON reports, target/load-test)
+ */
+@Log4j2
+public class LoadTest {
+
+    private static final String PASSWORD_HASH = "{bcrypt}$2a$10$hSTIR1LEGbkA6US1B0IJVeoTsHrFKzPwXSeE40SvIFckopmMHoUTm";
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(1);
+    private static final String[] SEARCH_TERMS = {"anime", "anim 1", "anmie 42", "overlord", "ippo"};
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    private final String baseUrl;
+    private final String userAuthorization = basic("devdojo", "academy");
+    private final String adminAuthorization = basic("william", "academy");
+    private final List<Long> seededIds;
+    private final boolean async;
+    private final Queue<Long> createdIds = new ConcurrentLinkedQueue<>();
+    private final Map<Operation, Histogram> histograms = new EnumMap<>(Operation.class);
+    private final Map<Operation, AtomicLong> errors = new EnumMap<>(Operation.class);
+    private final AtomicLong outstanding = new AtomicLong();
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong responses = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+    private long measureFrom;
+    private long measureUntil;
+
+    LoadTest(String baseUrl, List<Long> seededIds, boolean async) {
+        this.baseUrl = baseUrl;
+        this.seededIds = seededIds;
+        this.async = async;
+        for (Operation operation : Operation.values()) {
+            histograms.put(operation, new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3));
+            errors.put(operation, new AtomicLong());
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> arguments = parse(args);
+        int rate = Integer.parseInt(arguments.getOrDefault("rate", "200"));
+        int warmupSeconds = Integer.parseInt(arguments.getOrDefault("warmup", "10"));
+        int durationSeconds = Integer.parseInt(arguments.getOrDefault("duration", "60"));
+        int animes = Integer.parseInt(arguments.getOrDefault("animes", "1000"));
+        String profiles = arguments.getOrDefault("profiles", "");
+        boolean async = Boolean.parseBoolean(arguments.getOrDefault("async", "false"));
+        Path reportDirectory = Paths.get(arguments.getOrDefault("report", "target/load-test"));
+
+        ConfigurableApplicationContext context = null;
+        String baseUrl = arguments.get("url");
+        List<Long> seededIds;
+        if (baseUrl == null) {
+            context = startEmbeddedApplication(profiles, async);
+            baseUrl = "http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort();
+            seededIds = seed(context, animes);
+        } else {
+            seededIds = LongStream.rangeClosed(1, animes).boxed().collect(Collectors.toList());
+        }
+
+        try {
+            LoadTest loadTest = new LoadTest(baseUrl, seededIds, async);
+            OffsetDateTime startedAt = OffsetDateTime.now();
+            loadTest.run(rate, warmupSeconds, durationSeconds);
+            loadTest.report(LoadTestReport.builder()
+                    .startedAt(startedAt)
+                    .baseUrl(baseUrl)
+                    .profiles(context == null ? null : profiles)
+                    .async(async)
+                    .targetRate(rate)
+                    .warmupSeconds(warmupSeconds)
+                    .durationSeconds(durationSeconds)
+                    .sentRate((double) loadTest.sent.get() / durationSeconds)
+                    .achievedRate((double) loadTest.completed.get() / durationSeconds)
+                    .errorRate((double) loadTest.failed.get() / durationSeconds), reportDirectory);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+        }
+    }
+
+    /**
+     * Latencies are recorded for the requests scheduled in the measured period, throughput counts the
+     * responses received in it, successful and failed apart
+     */
+    void run(int rate, int warmupSeconds, int durationSeconds) throws InterruptedException {
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long start = System.nanoTime();
+        measureFrom = start + TimeUnit.SECONDS.toNanos(warmupSeconds);
+        measureUntil = measureFrom + TimeUnit.SECONDS.toNanos(durationSeconds);
+
+        log.info("Sending {} requests per second to {} for {}s after a {}s warmup", rate, baseUrl, durationSeconds, warmupSeconds);
+        boolean warmedUp = false;
+        for (long intendedStart = start; intendedStart < measureUntil; intendedStart += intervalNanos) {
+            long delay = intendedStart - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            boolean measured = intendedStart >= measureFrom;
+            if (measured && !warmedUp) {
+                failIfRateLimited();
+                warmedUp = true;
+            }
+            Operation operation = Operation.next(async);
+            Long createdId = null;
+            if (operation == Operation.DELETE) {
+                createdId = createdIds.poll();
+                if (createdId == null) {
+                    operation = Operation.SAVE;
+                }
+            }
+            send(operation, createdId, intendedStart, measured);
+            if (measured) {
+                sent.incrementAndGet();
+            }
+        }
+
+        while (outstanding.get() > 0) {
+            TimeUnit.MILLISECONDS.sleep(100);
+        }
+    }
+
+    private void send(Operation operation, Long createdId, long intendedStart, boolean measured) {
+        outstanding.incrementAndGet();
+        httpClient.sendAsync(request(operation, createdId), HttpResponse.BodyHandlers.ofByteArray())
+                .whenComplete((response, throwable) -> {
+                    long completedAt = System.nanoTime();
+                    long latencyMicros = TimeUnit.NANOSECONDS.toMicros(completedAt - intendedStart);
+                    boolean isFailed = throwable != null || response.statusCode() >= 400;
+                    responses.incrementAndGet();
+                    if (throwable == null && response.statusCode() == 429) {
+                        rateLimited.incrementAndGet();
+                    }
+                    if (!isFailed && operation == Operation.SAVE) {
+                        rememberCreatedId(response.body());
+                    }
+                    if (measured) {
+                        histograms.get(operation).recordValue(Math.min(latencyMicros, HIGHEST_TRACKABLE_MICROS));
+                        if (isFailed) {
+                            errors.get(operation).incrementAndGet();
+                        }
+                    }
+                    if (completedAt - measureFrom >= 0 && completedAt - measureUntil < 0) {
+                        (isFailed ? failed : completed).incrementAndGet();
+                    }
+                    outstanding.decrementAndGet();
+                });
+    }
+
+    /**
+     * Measuring the rate limiter of a running instance tells nothing about the application itself
+     */
+    private void failIfRateLimited() {
+        long answered = responses.get();
+        if (answered > 0 && rateLimited.get() * 2 > answered) {
+            throw new IllegalStateException(rateLimited.get() + " of the " + answered + " warmup responses were 429, "
+                    + "start " + baseUrl + " with devdojo.rate-limit.enabled=false");
+        }
+    }
+
+    /**
+     * @param createdId the anime a DELETE removes, polled once by the caller
+     */
+    private HttpRequest request(Operation operation, Long createdId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", operation.isAdmin() ? adminAuthorization : userAuthorization);
+        switch (operation) {
+            case LIST:
+                return builder.uri(uri("/animes?page=" + random.nextInt(10) + "&size=20")).GET().build();
+            case ASYNC_LIST:
+                return builder.uri(uri("/animes/async?page=" + random.nextInt(10) + "&size=20")).GET().build();
+            case LIST_ALL:
+                return builder.uri(uri("/animes/all")).GET().build();
+            case ASYNC_LIST_ALL:
+                return builder.uri(uri("/animes/async/all")).GET().build();
+            case SEARCH:
+                String term = SEARCH_TERMS[random.nextInt(SEARCH_TERMS.length)];
+                return builder.uri(uri("/animes/search?q=" + URLEncoder.encode(term, StandardCharsets.UTF_8))).GET().build();
+            case FIND_BY_ID:
+                return builder.uri(uri("/animes/" + seededIds.get(random.nextInt(seededIds.size())))).GET().build();
+            case ASYNC_FIND_BY_ID:
+                return builder.uri(uri("/animes/async/" + seededIds.get(random.nextInt(seededIds.size())))).GET().build();
+            case SAVE:
+                return json(builder.uri(uri("/animes")), "POST", "{\"name\":\"Load test " + random.nextInt() + "\"}");
+            case REPLACE:
+                return json(builder.uri(uri("/animes/" + seededIds.get(random.nextInt(seededIds.size())))), "PUT",
+                        "{\"name\":\"Replaced " + random.nextInt() + "\"}");
+            case DELETE:
+                return builder.uri(uri("/animes/admin/" + createdId)).DELETE().build();
+            default:
+                throw new IllegalArgumentException(operation.name());
+        }
+    }
+
+    private void report(LoadTestReport.LoadTestReportBuilder reportBuilder, Path reportDirectory) throws IOException {
+        LoadTestReport report = reportBuilder
+                .endpoints(histograms.entrySet().stream()
+                        .filter(entry -> entry.getValue().getTotalCount() > 0)
+                        .map(entry -> LoadTestReport.Endpoint.of(entry.getKey().getRoute(), entry.getValue(),
+                                errors.get(entry.getKey()).get()))
+                        .collect(Collectors.toList()))
+                .build();
+
+        log.printf(Level.INFO, "%-28s %9s %7s %9s %9s %9s %9s %9s", "route", "requests", "errors", "p50", "p90", "p99", "p99.9", "max");
+        for (LoadTestReport.Endpoint endpoint : report.getEndpoints()) {
+            log.printf(Level.INFO, "%-28s %9d %7d %9.2f %9.2f %9.2f %9.2f %9.2f", endpoint.getRoute(), endpoint.getRequests(),
+                    endpoint.getErrors(), endpoint.getP50(), endpoint.getP90(), endpoint.getP99(), endpoint.getP999(), endpoint.getMax());
+        }
+        log.printf(Level.INFO, "Sent %.1f requests per second, target was %d", report.getSentRate(), report.getTargetRate());
+        log.printf(Level.INFO, "Completed %.1f successful and %.1f failed responses per second", report.getAchievedRate(),
+                report.getErrorRate());
+
+        Files.createDirectories(reportDirectory);
+        Path file = reportDirectory.resolve("report-" + report.getStartedAt().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")) + ".json");
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        log.info("Report written to {}", file.toAbsolutePath());
+    }
+
+    private void rememberCreatedId(byte[] body) {
+        try {
+            JsonNode anime = objectMapper.readTree(body);
+            createdIds.add(anime.get("id").asLong());
+        } catch (IOException e) {
+            log.warn("Could not read the created anime", e);
+        }
+    }
+
+    private HttpRequest json(HttpRequest.Builder builder, String method, String body) {
+        return builder.header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    /**
+     * Rate limiting is switched off, the point is to measure how the application itself holds up
+     */
+    private static ConfigurableApplicationContext startEmbeddedApplication(String profiles, boolean async) {
+        return new SpringApplicationBuilder(Springboot2EssentialsApplication.class)
+                .profiles(StringUtils.commaDelimitedListToStringArray(profiles))
+                .properties(
+                        "server.port=0",
+                        "spring.devtools.restart.enabled=false",
+                        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;MODE=MySQL",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "devdojo.rate-limit.enabled=false",
+                        "devdojo.async.enabled=" + async,
+                        "logging.level.org.hibernate.SQL=WARN")
+                .run();
+    }
+
+    /**
+     * The batch insert bypasses AnimeService, so the search index built at startup is rebuilt to hold
+     * the seeded titles, otherwise SEARCH would only measure an empty index
+     */
+    private static List<Long> seed(ConfigurableApplicationContext context, int animes) {
+        DevDojoUserRepository devDojoUserRepository = context.getBean(DevDojoUserRepository.class);
+        devDojoUserRepository.save(DevDojoUser.builder().name("DevDojo Academy").username("devdojo")
+                .password(PASSWORD_HASH).authorities("ROLE_USER").build());
+        devDojoUserRepository.save(DevDojoUser.builder().name("William Suane").username("william")
+                .password(PASSWORD_HASH).authorities("ROLE_USER,ROLE_ADMIN").build());
+
+        List<Anime> animesToBeSaved = IntStream.range(0, animes)
+                .mapToObj(index -> Anime.builder().name("Anime " + index).build())
+                .collect(Collectors.toList());
+        List<Long> seededIds = context.getBean(AnimeBatchRepository.class).insertAll(animesToBeSaved).stream()
+                .map(Anime::getId)
+                .collect(Collectors.toList());
+
+        AnimeSearchIndex searchIndex = context.getBean(AnimeSearchIndex.class);
+        searchIndex.rebuild();
+        if (!animesToBeSaved.isEmpty()
+                && searchIndex.search(animesToBeSaved.get(0).getName(), PageRequest.of(0, 1)).isEmpty()) {
+            throw new IllegalStateException("The seeded animes are not in the search index");
+        }
+        return seededIds;
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> arguments = new HashMap<>();
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator < 1) {
+                throw new IllegalArgumentException("Expected key=value but got " + arg);
+            }
+            arguments.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+        return arguments;
+    }
+
+    private static String basic(String username, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+}
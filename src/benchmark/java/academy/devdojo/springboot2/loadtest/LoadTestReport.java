@@ -0,0 +1,63 @@
+package academy.devdojo.springboot2.loadtest;
+
+import lombok.Builder;
+import lombok.Value;
+import org.HdrHistogram.Histogram;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Written as JSON once per run, latencies are in milliseconds and measured from the moment each
+ * request was scheduled to be sent, so a slow server cannot hide its queuing delay.
+ * sentRate is what the generator sent, achievedRate the successful responses per second and errorRate the failed ones
+ */
+@Value
+@Builder
+class LoadTestReport {
+
+    OffsetDateTime startedAt;
+    String baseUrl;
+    String profiles;
+    boolean async;
+    int targetRate;
+    int warmupSeconds;
+    int durationSeconds;
+    double sentRate;
+    double achievedRate;
+    double errorRate;
+    List<Endpoint> endpoints;
+
+    @Value
+    @Builder
+    static class Endpoint {
+
+        String route;
+        long requests;
+        long errors;
+        double p50;
+        double p90;
+        double p99;
+        double p999;
+        double max;
+        double mean;
+
+        static Endpoint of(String route, Histogram histogram, long errors) {
+            return Endpoint.builder()
+                    .route(route)
+                    .requests(histogram.getTotalCount())
+                    .errors(errors)
+                    .p50(millis(histogram.getValueAtPercentile(50)))
+                    .p90(millis(histogram.getValueAtPercentile(90)))
+                    .p99(millis(histogram.getValueAtPercentile(99)))
+                    .p999(millis(histogram.getValueAtPercentile(99.9)))
+                    .max(millis(histogram.getMaxValue()))
+                    .mean(histogram.getMean() / 1000.0)
+                    .build();
+        }
+
+        private static double millis(long micros) {
+            return micros / 1000.0;
+        }
+    }
+}
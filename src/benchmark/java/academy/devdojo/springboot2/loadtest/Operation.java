@@ -0,0 +1,61 @@
+package academy.devdojo.springboot2.loadtest;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The request mix, weights are percentages of the generated requests. The async operations have no weight
+ * of their own, they replace the reads AnimeAsyncController serves when the load test runs in async mode
+ */
+@Getter
+@RequiredArgsConstructor
+enum Operation {
+
+    LIST("GET /animes", 30, false),
+    LIST_ALL("GET /animes/all", 5, false),
+    SEARCH("GET /animes/search?q=", 15, false),
+    FIND_BY_ID("GET /animes/{id}", 30, false),
+    SAVE("POST /animes", 10, true),
+    REPLACE("PUT /animes/{id}", 5, true),
+    DELETE("DELETE /animes/admin/{id}", 5, true),
+    ASYNC_LIST("GET /animes/async", 0, false),
+    ASYNC_LIST_ALL("GET /animes/async/all", 0, false),
+    ASYNC_FIND_BY_ID("GET /animes/async/{id}", 0, false);
+
+    private static final int TOTAL_WEIGHT = 100;
+
+    private final String route;
+    private final int weight;
+    private final boolean admin;
+
+    static Operation next(boolean async) {
+        Operation next = next();
+        return async ? next.async() : next;
+    }
+
+    private static Operation next() {
+        int value = ThreadLocalRandom.current().nextInt(TOTAL_WEIGHT);
+        for (Operation operation : values()) {
+            value -= operation.weight;
+            if (value < 0) {
+                return operation;
+            }
+        }
+        return LIST;
+    }
+
+    private Operation async() {
+        switch (this) {
+            case LIST:
+                return ASYNC_LIST;
+            case LIST_ALL:
+                return ASYNC_LIST_ALL;
+            case FIND_BY_ID:
+                return ASYNC_FIND_BY_ID;
+            default:
+                return this;
+        }
+    }
+}
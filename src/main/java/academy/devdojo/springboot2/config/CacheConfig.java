@@ -0,0 +1,71 @@
+package academy.devdojo.springboot2.config;
+
+import academy.devdojo.springboot2.filter.CachedResponse;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Cache sizes and TTLs are set by spring.cache.caffeine.spec, hit/miss/eviction
+ * metrics are exported by Actuator as cache_gets_total, cache_evictions_total, etc.
+ * <p>
+ * The caching advice wraps the transactional one so evictions only happen after commit
+ */
+@Configuration
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 1)
+public class CacheConfig {
+
+    public static final String ANIME_BY_ID = "animeById";
+    public static final String ANIME_BY_NAME = "animeByName";
+    public static final String ANIME_MISSING_BY_ID = "animeMissingById";
+    public static final String ANIME_MISSING_BY_NAME = "animeMissingByName";
+    public static final String DEV_DOJO_USERS = "devDojoUsers";
+    public static final String ANIME_RESPONSES = "animeResponses";
+
+    /**
+     * The negative lookup caches get their own spec, its TTL is how long a lookup may keep
+     * answering "not found" for a row inserted by another node
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> negativeLookupCacheCustomizer(
+            @Value("${devdojo.cache.negative-lookup.spec}") String spec) {
+        return cacheManager -> {
+            cacheManager.registerCustomCache(ANIME_MISSING_BY_ID, Caffeine.from(spec).build());
+            cacheManager.registerCustomCache(ANIME_MISSING_BY_NAME, Caffeine.from(spec).build());
+        };
+    }
+
+    /**
+     * Every authenticated request loads its principal, cache_gets_total{cache="devDojoUsers",result="hit"}
+     * is the number of queries saved
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> userCacheCustomizer(
+            @Value("${devdojo.cache.user.spec}") String spec) {
+        return cacheManager -> cacheManager.registerCustomCache(DEV_DOJO_USERS, Caffeine.from(spec).build());
+    }
+
+    /**
+     * Bounded by the bytes held rather than by the number of entries, a single /animes/all
+     * response can be as big as the table
+     */
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> responseCacheCustomizer(
+            @Value("${devdojo.cache.response.maximum-size}") DataSize maximumSize,
+            @Value("${devdojo.cache.response.expire-after-write}") Duration expireAfterWrite) {
+        return cacheManager -> cacheManager.registerCustomCache(ANIME_RESPONSES, Caffeine.newBuilder()
+                .maximumWeight(maximumSize.toBytes())
+                .<Object, Object>weigher((key, value) -> ((CachedResponse) value).size())
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build());
+    }
+}
@@ -0,0 +1,84 @@
+package academy.devdojo.springboot2.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.Base64;
+
+/**
+ * Remembers successful verifications so a client sending the same credentials again skips bcrypt.
+ * <p>
+ * Entries are keyed by an HMAC of the stored hash and the raw password, with a random key generated
+ * at startup, so neither the password nor anything that can be brute forced offline is kept in memory.
+ * Using the stored hash instead of the username means a password change invalidates the entry.
+ * Failed verifications are never cached.
+ */
+public class CachingPasswordEncoder implements PasswordEncoder {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final PasswordEncoder delegate;
+    private final Cache<String, Boolean> verifiedCredentials;
+    private final ThreadLocal<Mac> macs;
+
+    public CachingPasswordEncoder(PasswordEncoder delegate, Cache<String, Boolean> verifiedCredentials) {
+        this.delegate = delegate;
+        this.verifiedCredentials = verifiedCredentials;
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        SecretKeySpec key = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        this.macs = ThreadLocal.withInitial(() -> createMac(key));
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        if (rawPassword == null || encodedPassword == null) {
+            return delegate.matches(rawPassword, encodedPassword);
+        }
+
+        String key = keyOf(rawPassword, encodedPassword);
+        if (verifiedCredentials.getIfPresent(key) != null) {
+            return true;
+        }
+
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        if (matches) {
+            verifiedCredentials.put(key, Boolean.TRUE);
+        }
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+    private String keyOf(CharSequence rawPassword, String encodedPassword) {
+        Mac mac = macs.get();
+        mac.update(encodedPassword.getBytes(StandardCharsets.UTF_8));
+        mac.update((byte) 0);
+        mac.update(rawPassword.toString().getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(mac.doFinal());
+    }
+
+    private static Mac createMac(SecretKeySpec key) {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Could not create " + HMAC_ALGORITHM, e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package academy.devdojo.springboot2.config;
+
+import academy.devdojo.springboot2.filter.AdaptiveConcurrencyLimiter;
+import academy.devdojo.springboot2.filter.AnimeResponseCache;
+import academy.devdojo.springboot2.filter.AnimeResponseCacheFilter;
+import academy.devdojo.springboot2.filter.RateLimitFilter;
+import academy.devdojo.springboot2.filter.RequestIdFilter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+@Configuration
+public class FilterConfig {
+
+    /**
+     * Ordered first so the security filters and everything after them log with the request id
+     */
+    @Bean
+    public FilterRegistrationBean<RequestIdFilter> requestIdFilter() {
+        FilterRegistrationBean<RequestIdFilter> registration = new FilterRegistrationBean<>(new RequestIdFilter());
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    /**
+     * Ordered after Spring Security's filter chain so the principal is known, and before the
+     * response cache so cached responses count against the rate limit too
+     */
+    @Bean
+    @ConditionalOnProperty(name = "devdojo.rate-limit.enabled", havingValue = "true")
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+            @Value("${devdojo.rate-limit.requests-per-second}") double requestsPerSecond,
+            @Value("${devdojo.rate-limit.burst}") int burst,
+            @Value("${devdojo.rate-limit.principals-spec}") String principalsSpec,
+            @Value("${devdojo.rate-limit.concurrency.initial-limit}") int initialLimit,
+            @Value("${devdojo.rate-limit.concurrency.min-limit}") int minLimit,
+            @Value("${devdojo.rate-limit.concurrency.max-limit}") int maxLimit,
+            @Value("${devdojo.rate-limit.concurrency.latency-target}") Duration latencyTarget,
+            MeterRegistry meterRegistry, ObjectMapper objectMapper) {
+        AdaptiveConcurrencyLimiter concurrencyLimiter = new AdaptiveConcurrencyLimiter(initialLimit, minLimit, maxLimit,
+                latencyTarget.toNanos(), System.nanoTime());
+        Gauge.builder("http.server.requests.concurrency.limit", concurrencyLimiter, AdaptiveConcurrencyLimiter::getLimit)
+                .register(meterRegistry);
+        Gauge.builder("http.server.requests.concurrency.in.flight", concurrencyLimiter, AdaptiveConcurrencyLimiter::getInFlight)
+                .register(meterRegistry);
+
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(new RateLimitFilter(
+                Caffeine.from(principalsSpec).build(), requestsPerSecond, burst, concurrencyLimiter,
+                meterRegistry, objectMapper, System::nanoTime));
+        registration.addUrlPatterns("/animes", "/animes/*");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 1);
+        return registration;
+    }
+
+    /**
+     * Ordered after Spring Security's filter chain, a cached listing is only served to an authorized user.
+     * <p>
+     * Not registered with devdojo.datasource.replicas.enabled: listings are read from a replica, one rendered
+     * right after a write may not have it yet and would be served until the entry expires
+     */
+    @Bean
+    @ConditionalOnExpression("${devdojo.cache.response.enabled:true} and !${devdojo.datasource.replicas.enabled:false}")
+    public FilterRegistrationBean<AnimeResponseCacheFilter> animeResponseCacheFilter(AnimeResponseCache responseCache) {
+        FilterRegistrationBean<AnimeResponseCacheFilter> registration =
+                new FilterRegistrationBean<>(new AnimeResponseCacheFilter(responseCache));
+        registration.addUrlPatterns("/animes", "/animes/all");
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER + 2);
+        return registration;
+    }
+}
@@ -0,0 +1,25 @@
+package academy.devdojo.springboot2.config;
+
+import academy.devdojo.springboot2.metrics.TimedJacksonHttpMessageConverter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+/**
+ * Service and repository timers come from TimedOperationsAspect, Hibernate statistics are bound by
+ * Actuator when hibernate.generate_statistics is on
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Replaces the converter Boot would create with the same ObjectMapper
+     */
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper,
+                                                                                   MeterRegistry meterRegistry) {
+        return new TimedJacksonHttpMessageConverter(objectMapper, meterRegistry);
+    }
+}
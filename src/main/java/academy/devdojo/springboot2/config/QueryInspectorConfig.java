@@ -0,0 +1,75 @@
+package academy.devdojo.springboot2.config;
+
+import academy.devdojo.springboot2.metrics.QueryInspector;
+import academy.devdojo.springboot2.metrics.QueryInspectorEndpoint;
+import academy.devdojo.springboot2.metrics.RequestQueryFilter;
+import academy.devdojo.springboot2.metrics.RequestQueryListener;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Replaces SQL debug logging with a per request statement count, see {@link QueryInspector}
+ */
+@Configuration
+@ConditionalOnProperty(name = "devdojo.queries.enabled", havingValue = "true")
+public class QueryInspectorConfig {
+
+    private static final String DATA_SOURCE = "dataSource";
+
+    /**
+     * Only the bean named dataSource is wrapped, with read replicas enabled that is the proxy in front of
+     * the routing DataSource, so every statement is counted once whichever pool runs it
+     */
+    @Bean
+    public static BeanPostProcessor requestQueryDataSourcePostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource) || !DATA_SOURCE.equals(beanName)) {
+                    return bean;
+                }
+                return ProxyDataSourceBuilder.create((DataSource) bean)
+                        .name(DATA_SOURCE)
+                        .listener(new RequestQueryListener())
+                        .build();
+            }
+        };
+    }
+
+    @Bean
+    public QueryInspector queryInspector(@Value("${devdojo.queries.max-statements}") int maxStatements,
+                                         @Value("${devdojo.queries.max-repeated-statements}") int maxRepeatedStatements,
+                                         @Value("${devdojo.queries.max-duration}") Duration maxDuration,
+                                         @Value("${devdojo.queries.recent-reports}") int recentReports) {
+        return new QueryInspector(maxStatements, maxRepeatedStatements, maxDuration, recentReports, Clock.systemUTC());
+    }
+
+    @Bean
+    public QueryInspectorEndpoint queryInspectorEndpoint(QueryInspector queryInspector) {
+        return new QueryInspectorEndpoint(queryInspector);
+    }
+
+    /**
+     * Ordered after the request id filter and before Spring Security's filter chain, so the statements
+     * authentication runs, like the user lookup on a user cache miss, count towards the request.
+     * Requests answered before reaching a handler, like cached listings or rejected credentials, are
+     * recorded as UNMATCHED
+     */
+    @Bean
+    public FilterRegistrationBean<RequestQueryFilter> requestQueryFilter(QueryInspector queryInspector) {
+        FilterRegistrationBean<RequestQueryFilter> registration =
+                new FilterRegistrationBean<>(new RequestQueryFilter(queryInspector, System::nanoTime));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+}
@@ -0,0 +1,64 @@
+package academy.devdojo.springboot2.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Replaces the auto-configured DataSource when devdojo.datasource.replicas.enabled is true.
+ * <p>
+ * Every pool uses spring.datasource credentials and spring.datasource.hikari settings and exports
+ * the hikaricp_* metrics tagged with its name, replicas lag behind the primary so a read right
+ * after a write may not see it yet.
+ * <p>
+ * Nothing read from a replica is cached: the anime lookups load their misses from the primary and
+ * the listing response cache is not registered
+ */
+@Configuration
+@ConditionalOnProperty(name = "devdojo.datasource.replicas.enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(DataSourceProperties properties, Environment environment,
+                                                                 ObjectProvider<MeterRegistry> meterRegistry,
+                                                                 @Value("${devdojo.datasource.replicas.urls}") List<String> replicaUrls) {
+        HikariDataSource primary = pool(properties, environment, meterRegistry, properties.determineUrl(), "anime-primary");
+        List<HikariDataSource> replicas = IntStream.range(0, replicaUrls.size())
+                .mapToObj(index -> pool(properties, environment, meterRegistry, replicaUrls.get(index), "anime-replica-" + index))
+                .collect(Collectors.toList());
+        return new ReadWriteRoutingDataSource(primary, replicas);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    private HikariDataSource pool(DataSourceProperties properties, Environment environment,
+                                  ObjectProvider<MeterRegistry> meterRegistry, String url, String name) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        meterRegistry.ifAvailable(pool::setMetricRegistry);
+        return pool;
+    }
+}
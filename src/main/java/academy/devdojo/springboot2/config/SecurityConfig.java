@@ -1,8 +1,13 @@
 package academy.devdojo.springboot2.config;
 
 import academy.devdojo.springboot2.service.DevDojoUserDetailsService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -19,6 +24,13 @@ import org.springframework.security.crypto.password.PasswordEncoder;
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
     private final DevDojoUserDetailsService devDojoUserDetailsService;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${devdojo.security.credential-cache.enabled}")
+    private boolean credentialCacheEnabled;
+
+    @Value("${devdojo.security.credential-cache.spec}")
+    private String credentialCacheSpec;
 
     /**
      * BasicAuthenticationFilter
@@ -38,6 +50,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .authorizeRequests()
                 .antMatchers("/animes/admin/**").hasRole("ADMIN")
                 .antMatchers("/animes/**").hasRole("USER")
+                .antMatchers("/actuator/queries").hasRole("ADMIN")
                 .antMatchers("/actuator/**").permitAll()
                 .anyRequest()
                 .authenticated()
@@ -50,7 +63,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
     @Override
     protected void configure(AuthenticationManagerBuilder auth) throws Exception {
         PasswordEncoder passwordEncoder = PasswordEncoderFactories.createDelegatingPasswordEncoder();
-        log.info("Password encoded {}", passwordEncoder.encode("academy"));
+        log.debug("Password encoded {}", () -> passwordEncoder.encode("academy"));
 
 //        auth.inMemoryAuthentication()
 //                .withUser("william2")
@@ -62,6 +75,12 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 //                .roles("USER");
 
         auth.userDetailsService(devDojoUserDetailsService)
-                .passwordEncoder(passwordEncoder);
+                .passwordEncoder(credentialCacheEnabled ? cachingPasswordEncoder(passwordEncoder) : passwordEncoder);
+    }
+
+    private PasswordEncoder cachingPasswordEncoder(PasswordEncoder passwordEncoder) {
+        Cache<String, Boolean> verifiedCredentials = Caffeine.from(credentialCacheSpec).build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedCredentials, "verifiedCredentials");
+        return new CachingPasswordEncoder(passwordEncoder, verifiedCredentials);
     }
 }
@@ -0,0 +1,51 @@
+package academy.devdojo.springboot2.controller;
+
+import academy.devdojo.springboot2.domain.Anime;
+import academy.devdojo.springboot2.responses.AnimeSummary;
+import academy.devdojo.springboot2.service.AnimeService;
+import academy.devdojo.springboot2.wrapper.CompactPage;
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import org.springdoc.api.annotations.ParameterObject;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Same reads as AnimeController, but the Tomcat thread is released while the query runs on the
+ * bounded spring.task.execution pool. A full pool answers 503 instead of queuing without limit
+ */
+@RestController
+@RequestMapping("/animes/async")
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "devdojo.async.enabled", havingValue = "true")
+public class AnimeAsyncController {
+
+    private final AnimeService animeService;
+    private final AsyncTaskExecutor applicationTaskExecutor;
+
+    @GetMapping
+    @Operation(summary = "List all animes paginated without holding a request thread", tags = {"anime"})
+    public CompletableFuture<ResponseEntity<CompactPage<AnimeSummary>>> list(@ParameterObject Pageable pageable) {
+        return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(animeService.listAll(pageable)), applicationTaskExecutor);
+    }
+
+    @GetMapping(path = "/all")
+    public CompletableFuture<ResponseEntity<List<Anime>>> listAllNonPageable() {
+        return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(animeService.listAllNonPageable()), applicationTaskExecutor);
+    }
+
+    @GetMapping(path = "/{id}")
+    public CompletableFuture<ResponseEntity<Anime>> findById(@PathVariable Long id) {
+        return CompletableFuture.supplyAsync(() -> ResponseEntity.ok(animeService.findByIdOrThrowBadRequestException(id)),
+                applicationTaskExecutor);
+    }
+}
@@ -1,8 +1,18 @@
 package academy.devdojo.springboot2.controller;
 
 import academy.devdojo.springboot2.domain.Anime;
+import academy.devdojo.springboot2.requests.AnimeReplaceRequestBody;
 import academy.devdojo.springboot2.requests.AnimeRequestBody;
+import academy.devdojo.springboot2.responses.AnimeBatchResponse;
+import academy.devdojo.springboot2.responses.AnimeSummary;
 import academy.devdojo.springboot2.service.AnimeService;
+import academy.devdojo.springboot2.wrapper.CompactPage;
+import academy.devdojo.springboot2.wrapper.CompactSlice;
+import academy.devdojo.springboot2.wrapper.CursorPage;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
@@ -12,6 +22,7 @@ import org.springdoc.api.annotations.ParameterObject;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
@@ -23,10 +34,15 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.function.Function;
 
 @RestController
 @RequestMapping("/animes")
@@ -34,18 +50,62 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AnimeController {
 
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
     private final AnimeService animeService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
     @Operation(summary = "List all animes paginated", description = "The default size is 20, use the parameter size to change the default value",
             tags = {"anime"})
-    public ResponseEntity<Page<Anime>> list(@ParameterObject Pageable pageable) {
-        return ResponseEntity.ok(animeService.listAll(pageable));
+    public ResponseEntity<CompactPage<AnimeSummary>> list(@ParameterObject Pageable pageable) {
+        CompactPage<AnimeSummary> animePage = animeService.listAll(pageable);
+        return ResponseEntity.ok()
+                .eTag(eTagOf(animePage.getContent(), AnimeSummary::getId, AnimeSummary::getVersion,
+                        animePage.getNumber(), animePage.getSize(), animePage.getTotalElements()))
+                .body(animePage);
+    }
+
+    @GetMapping(params = "count=false")
+    @Operation(summary = "List all animes paginated without counting the total elements",
+            description = "Returns a slice, totalElements and totalPages are not calculated, hasNext tells whether there is a following page",
+            tags = {"anime"})
+    public ResponseEntity<CompactSlice<AnimeSummary>> listWithoutCount(@ParameterObject Pageable pageable) {
+        return ResponseEntity.ok(animeService.listAllWithoutCount(pageable));
+    }
+
+    @GetMapping(path = "/cursor")
+    @Operation(summary = "List all animes ordered by id using a cursor",
+            description = "Send the next value of the previous response as the after parameter to get the following page",
+            tags = {"anime"})
+    public ResponseEntity<CursorPage<Anime>> listAfter(@RequestParam(required = false) String after,
+                                                       @RequestParam(defaultValue = "20") int size) {
+        return ResponseEntity.ok(animeService.listAfter(after, size));
     }
 
     @GetMapping(path = "/all")
     public ResponseEntity<List<Anime>> listAllNonPageable() {
-        return ResponseEntity.ok(animeService.listAllNonPageable());
+        List<Anime> animes = animeService.listAllNonPageable();
+        return ResponseEntity.ok()
+                .eTag(eTagOf(animes, Anime::getId, Anime::getVersion))
+                .body(animes);
+    }
+
+    @GetMapping(path = "/all/stream", produces = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "List all animes as a JSON array written row by row",
+            description = "Same payload as /animes/all, but memory usage does not depend on the table size",
+            tags = {"anime"})
+    public ResponseEntity<StreamingResponseBody> streamAllNonPageable() {
+        ObjectWriter writer = objectMapper.writerFor(Anime.class).without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.writeStartArray();
+                animeService.streamAllNonPageable(anime -> writeAnime(writer, generator, anime));
+                generator.writeEndArray();
+            }
+        };
+        return ResponseEntity.ok(body);
     }
 
     @GetMapping(path = "/search")
@@ -53,15 +113,35 @@ public class AnimeController {
         return ResponseEntity.ok(animeService.findByNameOrThrowBadRequestException(animeRequestBody));
     }
 
+    @GetMapping(path = "/search", params = "q")
+    @Operation(summary = "Search animes by name, ranked by relevance",
+            description = "Matches prefixes, ignores case and accents and tolerates typos", tags = {"anime"})
+    public ResponseEntity<Page<Anime>> searchRanked(@RequestParam String q, @ParameterObject Pageable pageable) {
+        return ResponseEntity.ok(animeService.search(q, pageable));
+    }
+
+    @GetMapping(path = "/suggest")
+    @Operation(summary = "Autocomplete anime names",
+            description = "Names starting with q, served from memory, at most 50 suggestions", tags = {"anime"})
+    public ResponseEntity<List<String>> suggest(@RequestParam String q, @RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(animeService.suggest(q, limit));
+    }
+
+    /**
+     * Answers 304 without writing the body when If-None-Match matches, the anime usually comes from the cache
+     */
     @GetMapping(path = "/{id}")
     public ResponseEntity<Anime> findById(@PathVariable Long id) {
-        return ResponseEntity.ok(animeService.findByIdOrThrowBadRequestException(id));
+        Anime anime = animeService.findByIdOrThrowBadRequestException(id);
+        return ResponseEntity.ok()
+                .eTag(eTagOf(anime))
+                .body(anime);
     }
 
     @GetMapping(path = "by-id/{id}")
     public ResponseEntity<Anime> findByIdAuthenticationPrincipal(@PathVariable long id,
                                                                  @AuthenticationPrincipal UserDetails userDetails) {
-        log.info(userDetails);
+        log.debug("Anime {} requested by {}", id, userDetails.getUsername());
         return ResponseEntity.ok(animeService.findByIdOrThrowBadRequestException(id));
     }
 
@@ -71,6 +151,15 @@ public class AnimeController {
         return new ResponseEntity<>(animeService.save(animeRequestBody), HttpStatus.CREATED);
     }
 
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping(path = "/batch")
+    @Operation(summary = "Save a list of animes using JDBC batches",
+            description = "Invalid items are skipped and reported in errors with their position in the list",
+            tags = {"anime"})
+    public ResponseEntity<AnimeBatchResponse> saveAll(@RequestBody List<AnimeRequestBody> animeRequestBodies) {
+        return new ResponseEntity<>(animeService.saveAll(animeRequestBodies), HttpStatus.CREATED);
+    }
+
     @DeleteMapping(path = "/admin/{id}")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Successful Operation"),
@@ -81,9 +170,69 @@ public class AnimeController {
         return ResponseEntity.noContent().build();
     }
 
+    @DeleteMapping(path = "/admin/batch")
+    @Operation(summary = "Delete a list of animes with a single statement",
+            description = "Nothing is deleted when any of the ids does not exist", tags = {"anime"})
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Successful Operation"),
+            @ApiResponse(responseCode = "400", description = "When Any Anime Does Not Exist in The Database")
+    })
+    public ResponseEntity<Void> deleteAll(@RequestParam List<Long> ids) {
+        animeService.deleteAll(ids);
+        return ResponseEntity.noContent().build();
+    }
+
     @PutMapping(path = "/{id}")
     public ResponseEntity<Void> replace(@PathVariable Long id, @RequestBody @Valid AnimeRequestBody animeRequestBody) {
         animeService.replace(id, animeRequestBody);
         return ResponseEntity.noContent().build();
     }
+
+    @PutMapping(path = "/batch")
+    @Operation(summary = "Replace the name of a list of animes using JDBC batches",
+            description = "Nothing is updated when any of the ids does not exist", tags = {"anime"})
+    public ResponseEntity<Void> replaceAll(@RequestBody List<AnimeReplaceRequestBody> animeReplaceRequestBodies) {
+        animeService.replaceAll(animeReplaceRequestBodies);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Strong ETags built from ids and versions, every write bumps the version so the content is never hashed
+     */
+    private static String eTagOf(Anime anime) {
+        return anime.getId() + "-" + anime.getVersion();
+    }
+
+    private static <T> String eTagOf(List<T> animes, Function<T, Long> id, Function<T, Long> version,
+                                     long... pageMetadata) {
+        long hash = FNV_OFFSET_BASIS;
+        for (long value : pageMetadata) {
+            hash = fnv(hash, value);
+        }
+        for (T anime : animes) {
+            hash = fnv(hash, valueOrZero(id.apply(anime)));
+            hash = fnv(hash, valueOrZero(version.apply(anime)));
+        }
+        return Long.toHexString(hash);
+    }
+
+    private static long valueOrZero(Long value) {
+        return value == null ? 0 : value;
+    }
+
+    private static long fnv(long hash, long value) {
+        for (int shift = 0; shift < Long.SIZE; shift += Byte.SIZE) {
+            hash ^= (value >>> shift) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    private void writeAnime(ObjectWriter writer, JsonGenerator generator, Anime anime) {
+        try {
+            writer.writeValue(generator, anime);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
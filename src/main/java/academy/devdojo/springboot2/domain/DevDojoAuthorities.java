@@ -0,0 +1,45 @@
+package academy.devdojo.springboot2.domain;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Parses the comma separated authorities column once per distinct value and shares the result,
+ * so users with the same roles point to the same immutable set and the same authority instances
+ */
+final class DevDojoAuthorities {
+
+    private static final Map<String, Set<GrantedAuthority>> AUTHORITY_SETS = new ConcurrentHashMap<>();
+    private static final Map<String, GrantedAuthority> AUTHORITIES = new ConcurrentHashMap<>();
+
+    private DevDojoAuthorities() {
+    }
+
+    static Set<GrantedAuthority> of(String authorities) {
+        if (authorities == null || authorities.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<GrantedAuthority> authoritySet = AUTHORITY_SETS.get(authorities);
+        if (authoritySet == null) {
+            authoritySet = AUTHORITY_SETS.computeIfAbsent(authorities, DevDojoAuthorities::parse);
+        }
+        return authoritySet;
+    }
+
+    private static Set<GrantedAuthority> parse(String authorities) {
+        return Arrays.stream(authorities.split(","))
+                .map(String::trim)
+                .filter(authority -> !authority.isEmpty())
+                .map(authority -> AUTHORITIES.computeIfAbsent(authority, SimpleGrantedAuthority::new))
+                .collect(Collectors.collectingAndThen(Collectors.toCollection(LinkedHashSet::new),
+                        Collections::unmodifiableSet));
+    }
+}
@@ -0,0 +1,41 @@
+package academy.devdojo.springboot2.domain;
+
+import academy.devdojo.springboot2.config.CacheConfig;
+import academy.devdojo.springboot2.util.TransactionUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.PostPersist;
+import javax.persistence.PostRemove;
+import javax.persistence.PostUpdate;
+
+/**
+ * Clears the principal cache whenever a user is written. The whole cache is cleared
+ * because the previous username is not known after an update.
+ * <p>
+ * The callbacks run before the commit, so the cache is cleared again after it, otherwise a
+ * concurrent login could cache the old password or authorities again until the entry expires
+ */
+@Component
+@RequiredArgsConstructor
+public class DevDojoUserCacheListener {
+
+    private final ObjectProvider<CacheManager> cacheManager;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void evict(DevDojoUser devDojoUser) {
+        CacheManager manager = cacheManager.getIfAvailable();
+        if (manager == null) {
+            return;
+        }
+        Cache cache = manager.getCache(CacheConfig.DEV_DOJO_USERS);
+        if (cache != null) {
+            TransactionUtil.runNowAndAfterCommit(cache::clear);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package academy.devdojo.springboot2.exception;
+
+import lombok.Getter;
+import lombok.experimental.SuperBuilder;
+
+@Getter
+@SuperBuilder
+public class ConflictExceptionDetails extends ExceptionDetails {
+
+
+}
@@ -0,0 +1,77 @@
+package academy.devdojo.springboot2.filter;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps the requests running at the same time. The cap grows by one while requests finish under
+ * the latency target and shrinks by 10% when they do not, so it settles around what the database
+ * can serve without requests queuing on the connection pool.
+ * <p>
+ * Like TCP congestion control it shrinks at most once per window: only a slow request that started after
+ * the last decrease cuts the limit again, so a burst of slow requests running together counts as one signal
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    private static final double DECREASE_FACTOR = 0.9;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long latencyTargetNanos;
+    private final AtomicInteger limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong lastDecreaseNanos;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, long latencyTargetNanos,
+                                      long nowNanos) {
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.latencyTargetNanos = latencyTargetNanos;
+        this.limit = new AtomicInteger(Math.min(Math.max(initialLimit, minLimit), maxLimit));
+        this.lastDecreaseNanos = new AtomicLong(nowNanos);
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.get()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Only requests that used at least half of the limit make it grow, an idle server says
+     * nothing about how much load it can take
+     */
+    public void release(long startNanos, long endNanos) {
+        int current = inFlight.getAndDecrement();
+        if (endNanos - startNanos > latencyTargetNanos) {
+            long lastDecrease = lastDecreaseNanos.get();
+            if (startNanos - lastDecrease >= 0 && lastDecreaseNanos.compareAndSet(lastDecrease, endNanos)) {
+                limit.updateAndGet(value -> Math.max(minLimit, (int) (value * DECREASE_FACTOR)));
+            }
+        } else if (current * 2 >= limit.get()) {
+            limit.updateAndGet(value -> Math.min(maxLimit, value + 1));
+        }
+    }
+
+    /**
+     * For requests that are slow by design (streams, batches, async work), they hold a slot but
+     * their latency says nothing about overload
+     */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public int getLimit() {
+        return limit.get();
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,51 @@
+package academy.devdojo.springboot2.filter;
+
+import academy.devdojo.springboot2.config.CacheConfig;
+import academy.devdojo.springboot2.util.TransactionUtil;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serialized anime listings, any anime write invalidates all of them.
+ * <p>
+ * A response rendered before an invalidation must not be stored after it, so every entry is
+ * tagged with the generation that was current when its rendering started
+ */
+@Component
+public class AnimeResponseCache {
+
+    private final Cache responses;
+    private final AtomicLong generation = new AtomicLong();
+
+    public AnimeResponseCache(CacheManager cacheManager) {
+        this.responses = cacheManager.getCache(CacheConfig.ANIME_RESPONSES);
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public CachedResponse get(String key) {
+        return responses.get(key, CachedResponse.class);
+    }
+
+    public void put(String key, long renderedAt, CachedResponse response) {
+        if (generation.get() != renderedAt) {
+            return;
+        }
+        responses.put(key, response);
+        if (generation.get() != renderedAt) {
+            responses.evict(key);
+        }
+    }
+
+    public void invalidate() {
+        TransactionUtil.runNowAndAfterCommit(() -> {
+            generation.incrementAndGet();
+            responses.clear();
+        });
+    }
+}
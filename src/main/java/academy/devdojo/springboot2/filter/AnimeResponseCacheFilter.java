@@ -0,0 +1,106 @@
+package academy.devdojo.springboot2.filter;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Enumeration;
+import java.util.Set;
+
+/**
+ * Serves GET /animes and GET /animes/all from {@link AnimeResponseCache}, gzipped when the client accepts it.
+ * <p>
+ * Registered after the security filters, so authentication and authorization still run on every request
+ */
+@RequiredArgsConstructor
+public class AnimeResponseCacheFilter extends OncePerRequestFilter {
+
+    private static final Set<String> CACHED_PATHS = Set.of("/animes", "/animes/all");
+    private static final String GZIP = "gzip";
+    private static final String ANY_ETAG = "*";
+    private static final String WEAK_ETAG_PREFIX = "W/";
+
+    private final AnimeResponseCache responseCache;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !HttpMethod.GET.matches(request.getMethod())
+                || !CACHED_PATHS.contains(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String key = request.getQueryString() == null
+                ? request.getRequestURI()
+                : request.getRequestURI() + '?' + request.getQueryString();
+
+        // Rendered responses vary too, server.compression may gzip them
+        response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        CachedResponse cachedResponse = responseCache.get(key);
+        if (cachedResponse != null) {
+            write(cachedResponse, request, response);
+            return;
+        }
+
+        long generation = responseCache.generation();
+        ContentCachingResponseWrapper responseWrapper = new ContentCachingResponseWrapper(response);
+        filterChain.doFilter(request, responseWrapper);
+
+        if (responseWrapper.getStatus() == HttpStatus.OK.value()) {
+            responseCache.put(key, generation, CachedResponse.of(responseWrapper.getContentType(),
+                    responseWrapper.getHeader(HttpHeaders.ETAG), responseWrapper.getContentAsByteArray()));
+        }
+        responseWrapper.copyBodyToResponse();
+    }
+
+    private void write(CachedResponse cachedResponse, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (cachedResponse.getETag() != null) {
+            response.setHeader(HttpHeaders.ETAG, cachedResponse.getETag());
+            if (isNotModified(cachedResponse.getETag(), request)) {
+                response.setStatus(HttpStatus.NOT_MODIFIED.value());
+                return;
+            }
+        }
+
+        byte[] body = cachedResponse.getBody();
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        if (cachedResponse.hasGzippedBody() && acceptEncoding != null && acceptEncoding.contains(GZIP)) {
+            body = cachedResponse.getGzippedBody();
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, GZIP);
+        }
+        response.setContentType(cachedResponse.getContentType());
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    /**
+     * If-None-Match may hold a list of ETags, weak ones or *, and is compared weakly as RFC 7232 requires
+     */
+    private static boolean isNotModified(String eTag, HttpServletRequest request) {
+        String opaqueTag = opaqueTag(eTag);
+        Enumeration<String> ifNoneMatchHeaders = request.getHeaders(HttpHeaders.IF_NONE_MATCH);
+        while (ifNoneMatchHeaders.hasMoreElements()) {
+            for (String candidate : ifNoneMatchHeaders.nextElement().split(",")) {
+                String trimmedCandidate = candidate.trim();
+                if (ANY_ETAG.equals(trimmedCandidate) || opaqueTag.equals(opaqueTag(trimmedCandidate))) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static String opaqueTag(String eTag) {
+        return eTag.startsWith(WEAK_ETAG_PREFIX) ? eTag.substring(WEAK_ETAG_PREFIX.length()) : eTag;
+    }
+}
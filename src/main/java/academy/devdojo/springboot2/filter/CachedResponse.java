@@ -0,0 +1,49 @@
+package academy.devdojo.springboot2.filter;
+
+import lombok.Value;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A serialized response body kept together with its gzipped form, so neither Jackson nor
+ * the compressor run again while the entry is valid
+ */
+@Value
+public class CachedResponse {
+
+    private static final int MIN_COMPRESSION_SIZE = 1024;
+
+    String contentType;
+    String eTag;
+    byte[] body;
+    byte[] gzippedBody;
+
+    public static CachedResponse of(String contentType, String eTag, byte[] body) {
+        return new CachedResponse(contentType, eTag, body,
+                body.length < MIN_COMPRESSION_SIZE ? null : gzip(body));
+    }
+
+    public boolean hasGzippedBody() {
+        return gzippedBody != null;
+    }
+
+    /**
+     * Used as the cache weight
+     */
+    public int size() {
+        return body.length + (gzippedBody == null ? 0 : gzippedBody.length);
+    }
+
+    private static byte[] gzip(byte[] body) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(body);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+}
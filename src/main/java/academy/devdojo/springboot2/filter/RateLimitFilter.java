@@ -0,0 +1,156 @@
+package academy.devdojo.springboot2.filter;
+
+import academy.devdojo.springboot2.exception.ExceptionDetails;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.security.Principal;
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Every principal gets its own {@link TokenBucket}, and all of them share one {@link AdaptiveConcurrencyLimiter}.
+ * Rejected requests get a 429 with Retry-After and are counted in http_server_requests_rejected_total
+ * by route and reason.
+ * <p>
+ * Streams, batches and async requests are slow by design, they take a slot but do not feed their latency to the limiter
+ */
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Set<String> ROUTES = Set.of("admin", "all", "async", "batch", "cursor", "search", "suggest");
+    private static final Set<String> UNBOUNDED_PATHS = Set.of("/animes/all/stream", "/animes/batch", "/animes/admin/batch");
+    private static final String ASYNC_PATH = "/animes/async";
+    private static final String REJECTED_METRIC = "http.server.requests.rejected";
+
+    private final Cache<String, TokenBucket> buckets;
+    private final double tokensPerSecond;
+    private final int burst;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final MeterRegistry meterRegistry;
+    private final ObjectMapper objectMapper;
+    private final LongSupplier nanoTime;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String route = route(request);
+
+        TokenBucket bucket = buckets.get(principal(request), key -> new TokenBucket(tokensPerSecond, burst, nanoTime.getAsLong()));
+        long waitNanos = bucket.tryAcquire(nanoTime.getAsLong());
+        if (waitNanos > 0) {
+            reject(response, route, "rate_limit", TimeUnit.NANOSECONDS.toSeconds(waitNanos) + 1);
+            return;
+        }
+        if (!concurrencyLimiter.tryAcquire()) {
+            reject(response, route, "concurrency", 1);
+            return;
+        }
+
+        boolean latencySignal = isLatencySignal(request);
+        long start = nanoTime.getAsLong();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                request.getAsyncContext().addListener(new ReleaseOnComplete(start, latencySignal));
+            } else {
+                release(start, latencySignal);
+            }
+        }
+    }
+
+    private boolean isLatencySignal(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        return !UNBOUNDED_PATHS.contains(path) && !path.startsWith(ASYNC_PATH);
+    }
+
+    private void release(long start, boolean latencySignal) {
+        if (latencySignal) {
+            concurrencyLimiter.release(start, nanoTime.getAsLong());
+        } else {
+            concurrencyLimiter.release();
+        }
+    }
+
+    private String principal(HttpServletRequest request) {
+        Principal principal = request.getUserPrincipal();
+        return principal != null ? "user:" + principal.getName() : "address:" + request.getRemoteAddr();
+    }
+
+    /**
+     * Ids are collapsed into {id} so the route tag has a bounded number of values
+     */
+    private String route(HttpServletRequest request) {
+        String[] segments = request.getRequestURI().substring(request.getContextPath().length()).split("/");
+        if (segments.length < 3) {
+            return "/animes";
+        }
+        return ROUTES.contains(segments[2]) ? "/animes/" + segments[2] : "/animes/{id}";
+    }
+
+    private void reject(HttpServletResponse response, String route, String reason, long retryAfterSeconds)
+            throws IOException {
+        Counter.builder(REJECTED_METRIC)
+                .tag("route", route)
+                .tag("reason", reason)
+                .register(meterRegistry)
+                .increment();
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), ExceptionDetails.builder()
+                .timestamp(LocalDateTime.now())
+                .status(HttpStatus.TOO_MANY_REQUESTS.value())
+                .title("Too Many Requests, Try Again Later")
+                .details("rate_limit".equals(reason)
+                        ? "Request rate limit exceeded"
+                        : "Too many requests are being processed")
+                .developerMessage(getClass().getName())
+                .build());
+    }
+
+    @RequiredArgsConstructor
+    private class ReleaseOnComplete implements AsyncListener {
+
+        private final long start;
+        private final boolean latencySignal;
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(start, latencySignal);
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            // onComplete follows
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            // onComplete follows
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package academy.devdojo.springboot2.filter;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket kept as a single theoretical arrival time (GCRA), so taking a token is one
+ * compare-and-set and concurrent requests of the same principal never block each other
+ */
+public class TokenBucket {
+
+    private final long nanosPerToken;
+    private final long burstNanos;
+    private final AtomicLong theoreticalArrivalTime;
+
+    public TokenBucket(double tokensPerSecond, int burst, long nowNanos) {
+        this.nanosPerToken = (long) (1_000_000_000L / tokensPerSecond);
+        this.burstNanos = nanosPerToken * Math.max(burst - 1, 0);
+        this.theoreticalArrivalTime = new AtomicLong(nowNanos);
+    }
+
+    /**
+     * @return 0 when a token was taken, otherwise how many nanoseconds until the next one is available
+     */
+    public long tryAcquire(long nowNanos) {
+        while (true) {
+            long current = theoreticalArrivalTime.get();
+            long arrival = Math.max(current, nowNanos);
+            long wait = arrival - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrivalTime.compareAndSet(current, arrival + nanosPerToken)) {
+                return 0;
+            }
+        }
+    }
+}
@@ -2,8 +2,11 @@ package academy.devdojo.springboot2.handler;
 
 import academy.devdojo.springboot2.exception.BadRequestException;
 import academy.devdojo.springboot2.exception.BadRequestExceptionDetails;
+import academy.devdojo.springboot2.exception.ConflictException;
+import academy.devdojo.springboot2.exception.ConflictExceptionDetails;
 import academy.devdojo.springboot2.exception.ExceptionDetails;
 import academy.devdojo.springboot2.exception.ValidationExceptionDetails;
+import org.springframework.core.task.TaskRejectedException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -34,6 +37,33 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
                         .build(), HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(ConflictException.class)
+    public ResponseEntity<ConflictExceptionDetails> handleConflictException(ConflictException ex) {
+
+        return new ResponseEntity<>(
+                ConflictExceptionDetails.builder()
+                        .timestamp(LocalDateTime.now())
+                        .status(HttpStatus.CONFLICT.value())
+                        .title("Conflict Exception, Reload the Resource and Try Again")
+                        .details(ex.getMessage())
+                        .developerMessage(ex.getClass().getName())
+                        .build(), HttpStatus.CONFLICT);
+    }
+
+    @ExceptionHandler(TaskRejectedException.class)
+    public ResponseEntity<ExceptionDetails> handleTaskRejectedException(TaskRejectedException ex) {
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(ExceptionDetails.builder()
+                        .timestamp(LocalDateTime.now())
+                        .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+                        .title("Service Unavailable, Try Again Later")
+                        .details("Too many requests are waiting for the database")
+                        .developerMessage(ex.getClass().getName())
+                        .build());
+    }
+
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(
             MethodArgumentNotValidException exception, HttpHeaders headers, HttpStatus status, WebRequest request) {
@@ -59,7 +89,7 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
         ExceptionDetails exceptionDetails = ExceptionDetails.builder()
                 .timestamp(LocalDateTime.now())
                 .status(status.value())
-                .title(ex.getCause().getMessage())
+                .title(ex.getCause() != null ? ex.getCause().getMessage() : status.getReasonPhrase())
                 .details(ex.getMessage())
                 .developerMessage(ex.getClass().getName())
                 .build();
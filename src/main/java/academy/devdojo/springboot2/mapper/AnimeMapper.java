@@ -3,6 +3,7 @@ package academy.devdojo.springboot2.mapper;
 import academy.devdojo.springboot2.domain.Anime;
 import academy.devdojo.springboot2.requests.AnimeRequestBody;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.factory.Mappers;
 
 @Mapper(componentModel = "spring")
@@ -10,5 +11,6 @@ public abstract class AnimeMapper {
 
     public static final AnimeMapper INSTANCE = Mappers.getMapper(AnimeMapper.class);
 
+    @Mapping(target = "version", ignore = true)
     public abstract Anime toAnime(AnimeRequestBody animeRequestBody);
 }
@@ -0,0 +1,51 @@
+package academy.devdojo.springboot2.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Running totals for one endpoint, updated concurrently by the requests hitting it
+ */
+public class EndpointQueryStats {
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder statements = new LongAdder();
+    private final LongAdder queryTimeMillis = new LongAdder();
+    private final LongAdder flagged = new LongAdder();
+    private final AtomicLong maxStatements = new AtomicLong();
+
+    void record(RequestQueries requestQueries, boolean isFlagged) {
+        requests.increment();
+        statements.add(requestQueries.getStatements());
+        queryTimeMillis.add(requestQueries.getQueryTimeMillis());
+        maxStatements.accumulateAndGet(requestQueries.getStatements(), Math::max);
+        if (isFlagged) {
+            flagged.increment();
+        }
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getStatements() {
+        return statements.sum();
+    }
+
+    public long getQueryTimeMillis() {
+        return queryTimeMillis.sum();
+    }
+
+    public long getFlagged() {
+        return flagged.sum();
+    }
+
+    public long getMaxStatements() {
+        return maxStatements.get();
+    }
+
+    public double getStatementsPerRequest() {
+        long count = getRequests();
+        return count == 0 ? 0 : (double) getStatements() / count;
+    }
+}
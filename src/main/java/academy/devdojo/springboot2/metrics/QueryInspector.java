@@ -0,0 +1,98 @@
+package academy.devdojo.springboot2.metrics;
+
+import lombok.extern.log4j.Log4j2;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Aggregates the statements of each request per endpoint and keeps the last flagged requests.
+ * A request is flagged when it runs more than maxStatements, repeats one statement shape more than
+ * maxRepeatedStatements times (the N+1 pattern) or takes longer than maxDuration
+ */
+@Log4j2
+public class QueryInspector {
+
+    private final int maxStatements;
+    private final int maxRepeatedStatements;
+    private final long maxDurationNanos;
+    private final int recentReportsSize;
+    private final Clock clock;
+    private final Map<String, EndpointQueryStats> statsByEndpoint = new ConcurrentHashMap<>();
+    private final Deque<QueryReport> recentReports = new ArrayDeque<>();
+
+    public QueryInspector(int maxStatements, int maxRepeatedStatements, Duration maxDuration, int recentReportsSize,
+                          Clock clock) {
+        this.maxStatements = maxStatements;
+        this.maxRepeatedStatements = maxRepeatedStatements;
+        this.maxDurationNanos = maxDuration.toNanos();
+        this.recentReportsSize = recentReportsSize;
+        this.clock = clock;
+    }
+
+    public void record(String endpoint, RequestQueries requestQueries, long durationNanos) {
+        List<String> reasons = new ArrayList<>(0);
+        Map<String, Integer> repeatedStatements = new LinkedHashMap<>();
+        if (requestQueries.getStatements() > maxStatements) {
+            reasons.add("statements > " + maxStatements);
+        }
+        requestQueries.getStatementsByShape().forEach((shape, count) -> {
+            if (count > maxRepeatedStatements) {
+                repeatedStatements.put(shape, count);
+            }
+        });
+        if (!repeatedStatements.isEmpty()) {
+            reasons.add("repeated statements > " + maxRepeatedStatements);
+        }
+        if (durationNanos > maxDurationNanos) {
+            reasons.add("duration > " + TimeUnit.NANOSECONDS.toMillis(maxDurationNanos) + "ms");
+        }
+
+        statsByEndpoint.computeIfAbsent(endpoint, key -> new EndpointQueryStats())
+                .record(requestQueries, !reasons.isEmpty());
+        if (reasons.isEmpty()) {
+            return;
+        }
+
+        QueryReport report = QueryReport.builder()
+                .timestamp(clock.instant())
+                .endpoint(endpoint)
+                .statements(requestQueries.getStatements())
+                .queryTimeMillis(requestQueries.getQueryTimeMillis())
+                .durationMillis(TimeUnit.NANOSECONDS.toMillis(durationNanos))
+                .reasons(reasons)
+                .repeatedStatements(repeatedStatements)
+                .build();
+        log.warn("Flagged request {}: {}", endpoint, report);
+        synchronized (recentReports) {
+            if (recentReports.size() == recentReportsSize) {
+                recentReports.removeFirst();
+            }
+            recentReports.addLast(report);
+        }
+    }
+
+    public Map<String, EndpointQueryStats> getStatsByEndpoint() {
+        return statsByEndpoint;
+    }
+
+    /**
+     * Most recent first
+     */
+    public List<QueryReport> getRecentReports() {
+        synchronized (recentReports) {
+            List<QueryReport> reports = new ArrayList<>(recentReports);
+            Collections.reverse(reports);
+            return reports;
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package academy.devdojo.springboot2.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * /actuator/queries, statements per endpoint and the last flagged requests with their repeated SQL
+ */
+@Endpoint(id = "queries")
+@RequiredArgsConstructor
+public class QueryInspectorEndpoint {
+
+    private final QueryInspector queryInspector;
+
+    @ReadOperation
+    public Map<String, Object> queries() {
+        return Map.of(
+                "endpoints", new TreeMap<>(queryInspector.getStatsByEndpoint()),
+                "flagged", queryInspector.getRecentReports());
+    }
+}
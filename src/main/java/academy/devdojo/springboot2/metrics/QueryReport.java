@@ -0,0 +1,23 @@
+package academy.devdojo.springboot2.metrics;
+
+import lombok.Builder;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A request that ran too many statements, ran the same statement too many times or took too long
+ */
+@Value
+@Builder
+public class QueryReport {
+    Instant timestamp;
+    String endpoint;
+    int statements;
+    long queryTimeMillis;
+    long durationMillis;
+    List<String> reasons;
+    Map<String, Integer> repeatedStatements;
+}
@@ -0,0 +1,51 @@
+package academy.devdojo.springboot2.metrics;
+
+import lombok.Getter;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Statements executed while a request is being handled, bound to the request thread by {@link RequestQueryFilter}.
+ * Statements run outside a request (startup, async request threads) are not counted
+ */
+@Getter
+public class RequestQueries {
+
+    private static final ThreadLocal<RequestQueries> CURRENT = new ThreadLocal<>();
+    private static final Pattern PARAMETER_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private int statements;
+    private long queryTimeMillis;
+    private final Map<String, Integer> statementsByShape = new HashMap<>();
+
+    public static RequestQueries start() {
+        RequestQueries requestQueries = new RequestQueries();
+        CURRENT.set(requestQueries);
+        return requestQueries;
+    }
+
+    public static RequestQueries current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    public void record(String sql, long elapsedMillis) {
+        statements++;
+        queryTimeMillis += elapsedMillis;
+        statementsByShape.merge(shapeOf(sql), 1, Integer::sum);
+    }
+
+    /**
+     * Hibernate already binds values as parameters, only IN lists of different lengths need collapsing
+     */
+    static String shapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        return PARAMETER_LIST.matcher(shape).replaceAll("(?)");
+    }
+}
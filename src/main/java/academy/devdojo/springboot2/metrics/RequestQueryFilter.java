@@ -0,0 +1,58 @@
+package academy.devdojo.springboot2.metrics;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.function.LongSupplier;
+
+/**
+ * Counts the statements each request runs and hands them to {@link QueryInspector}, keyed by
+ * method and the matched route pattern so /animes/1 and /animes/2 share an entry.
+ * <p>
+ * Keys must stay bounded, anyone can send any method or path: unknown methods share OTHER, requests
+ * no handler matched share UNMATCHED, and actuator requests are not counted
+ */
+@RequiredArgsConstructor
+public class RequestQueryFilter extends OncePerRequestFilter {
+
+    private static final String ACTUATOR_PATH = "/actuator";
+    private static final String OTHER_METHOD = "OTHER";
+    private static final String UNMATCHED = "UNMATCHED";
+
+    private final QueryInspector queryInspector;
+    private final LongSupplier nanoTime;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return request.getRequestURI().startsWith(request.getContextPath() + ACTUATOR_PATH);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        RequestQueries requestQueries = RequestQueries.start();
+        long start = nanoTime.getAsLong();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestQueries.clear();
+            queryInspector.record(endpointOf(request), requestQueries, nanoTime.getAsLong() - start);
+        }
+    }
+
+    private String endpointOf(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern == null) {
+            return UNMATCHED;
+        }
+        HttpMethod method = HttpMethod.resolve(request.getMethod());
+        return (method == null ? OTHER_METHOD : method.name()) + " " + pattern;
+    }
+}
@@ -0,0 +1,28 @@
+package academy.devdojo.springboot2.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Adds every statement run through the proxied DataSource to the current {@link RequestQueries}
+ */
+public class RequestQueryListener implements QueryExecutionListener {
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        RequestQueries requestQueries = RequestQueries.current();
+        if (requestQueries == null) {
+            return;
+        }
+        for (QueryInfo queryInfo : queryInfoList) {
+            requestQueries.record(queryInfo.getQuery(), execInfo.getElapsedTime() / queryInfoList.size());
+        }
+    }
+}
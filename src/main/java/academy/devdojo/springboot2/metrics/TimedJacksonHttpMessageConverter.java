@@ -0,0 +1,38 @@
+package academy.devdojo.springboot2.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.util.ClassUtils;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Times how long Jackson takes to write each response body as devdojo.json.write, tagged with the
+ * type written, so serialization shows up apart from the handler time in http.server.requests
+ */
+public class TimedJacksonHttpMessageConverter extends MappingJackson2HttpMessageConverter {
+
+    private final MeterRegistry meterRegistry;
+
+    public TimedJacksonHttpMessageConverter(ObjectMapper objectMapper, MeterRegistry meterRegistry) {
+        super(objectMapper);
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void writeInternal(Object object, Type type, HttpOutputMessage outputMessage) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            super.writeInternal(object, type, outputMessage);
+        } finally {
+            sample.stop(Timer.builder("devdojo.json.write")
+                    .tag("type", object == null ? "null" : ClassUtils.getUserClass(object).getSimpleName())
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+}
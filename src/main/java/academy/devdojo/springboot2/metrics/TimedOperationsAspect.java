@@ -0,0 +1,72 @@
+package academy.devdojo.springboot2.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Times every @Service method as devdojo.service and every repository call as devdojo.repository,
+ * tagged with the operation (Class.method) and the exception thrown, if any.
+ * <p>
+ * Ordered outside the caching and transactional advice, so cache hits are timed and commits are included
+ */
+@Aspect
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE - 2)
+@RequiredArgsConstructor
+public class TimedOperationsAspect {
+
+    private static final String REPOSITORY_PACKAGE = "academy.devdojo.springboot2.repository";
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("@within(org.springframework.stereotype.Service)")
+    public Object timeService(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("devdojo.service", joinPoint);
+    }
+
+    @Around("this(academy.devdojo.springboot2.repository.AnimeRepository)"
+            + " || this(academy.devdojo.springboot2.repository.AnimeBatchRepository)"
+            + " || this(academy.devdojo.springboot2.repository.DevDojoUserRepository)")
+    public Object timeRepository(ProceedingJoinPoint joinPoint) throws Throwable {
+        return time("devdojo.repository", joinPoint);
+    }
+
+    private Object time(String name, ProceedingJoinPoint joinPoint) throws Throwable {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable throwable) {
+            exception = throwable.getClass().getSimpleName();
+            throw throwable;
+        } finally {
+            sample.stop(Timer.builder(name)
+                    .tag("operation", operation(joinPoint))
+                    .tag("exception", exception)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry));
+        }
+    }
+
+    /**
+     * Spring Data repositories are proxies around SimpleJpaRepository, the interface they implement names the operation
+     */
+    private String operation(ProceedingJoinPoint joinPoint) {
+        Class<?> type = ClassUtils.getUserClass(joinPoint.getTarget());
+        for (Class<?> candidate : joinPoint.getThis().getClass().getInterfaces()) {
+            if (REPOSITORY_PACKAGE.equals(candidate.getPackageName())) {
+                type = candidate;
+                break;
+            }
+        }
+        return type.getSimpleName() + "." + joinPoint.getSignature().getName();
+    }
+}
@@ -0,0 +1,82 @@
+package academy.devdojo.springboot2.repository;
+
+import academy.devdojo.springboot2.domain.Anime;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataRetrievalFailureException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Plain JDBC writes for bulk operations. Anime ids are IDENTITY generated, which disables
+ * Hibernate batching, so inserts go through JDBC batches instead (rewritten by the MySQL
+ * driver into multi-row inserts when rewriteBatchedStatements is on)
+ */
+@Repository
+public class AnimeBatchRepository {
+
+    private static final String INSERT_SQL = "insert into anime (name) values (?)";
+    private static final String UPDATE_NAME_SQL = "update anime set name = ?, version = version + 1 where id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int batchSize;
+
+    public AnimeBatchRepository(JdbcTemplate jdbcTemplate, @Value("${devdojo.batch.size}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    public List<Anime> insertAll(List<Anime> animes) {
+        return jdbcTemplate.execute((ConnectionCallback<List<Anime>>) connection -> {
+            List<Anime> savedAnimes = new ArrayList<>(animes.size());
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < animes.size(); from += batchSize) {
+                    List<Anime> batch = animes.subList(from, Math.min(from + batchSize, animes.size()));
+                    for (Anime anime : batch) {
+                        statement.setString(1, anime.getName());
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    savedAnimes.addAll(withGeneratedIds(statement, batch));
+                }
+            }
+            return savedAnimes;
+        });
+    }
+
+    /**
+     * @return the number of updated rows for each anime, in the same order
+     */
+    public int[] updateNames(List<Anime> animes) {
+        int[][] batchCounts = jdbcTemplate.batchUpdate(UPDATE_NAME_SQL, animes, batchSize, (statement, anime) -> {
+            statement.setString(1, anime.getName());
+            statement.setLong(2, anime.getId());
+        });
+        return Arrays.stream(batchCounts).flatMapToInt(Arrays::stream).toArray();
+    }
+
+    private List<Anime> withGeneratedIds(PreparedStatement statement, List<Anime> batch) throws SQLException {
+        List<Anime> savedAnimes = new ArrayList<>(batch.size());
+        try (ResultSet generatedKeys = statement.getGeneratedKeys()) {
+            for (Anime anime : batch) {
+                if (!generatedKeys.next()) {
+                    throw new DataRetrievalFailureException("The driver did not return an id for every inserted anime");
+                }
+                savedAnimes.add(Anime.builder()
+                        .id(generatedKeys.getLong(1))
+                        .name(anime.getName())
+                        .version(0L)
+                        .build());
+            }
+        }
+        return savedAnimes;
+    }
+}
@@ -1,11 +1,75 @@
 package academy.devdojo.springboot2.repository;
 
 import academy.devdojo.springboot2.domain.Anime;
+import academy.devdojo.springboot2.responses.AnimeSummary;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import javax.persistence.QueryHint;
+import java.util.Collection;
 import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
+import static org.hibernate.jpa.QueryHints.HINT_READONLY;
 
 public interface AnimeRepository extends JpaRepository<Anime, Long> {
 
     Optional<Anime> findByName(String name);
+
+    /**
+     * Read-write transaction so it is never routed to a replica, the result is cached and a lagging
+     * replica could return a row that was already changed or miss one that was just created
+     */
+    @Transactional
+    @Query("select a from Anime a where a.id = :id")
+    Optional<Anime> findByIdOnPrimary(@Param("id") Long id);
+
+    /**
+     * Same as findByIdOnPrimary
+     */
+    @Transactional
+    @Query("select a from Anime a where a.name = :name")
+    Optional<Anime> findByNameOnPrimary(@Param("name") String name);
+
+    /**
+     * Rows are read into DTOs, nothing is attached to the persistence context or dirty checked
+     */
+    @Query(value = "select new academy.devdojo.springboot2.responses.AnimeSummary(a.id, a.name, a.version) from Anime a",
+            countQuery = "select count(a) from Anime a")
+    Page<AnimeSummary> findAllProjectedBy(Pageable pageable);
+
+    /**
+     * Same DTOs without the count query, one extra row is read to know whether there is a next slice
+     */
+    @Query("select new academy.devdojo.springboot2.responses.AnimeSummary(a.id, a.name, a.version) from Anime a")
+    Slice<AnimeSummary> findSliceProjectedBy(Pageable pageable);
+
+    Slice<Anime> findByIdGreaterThan(Long id, Pageable pageable);
+
+    /**
+     * Must be consumed inside a transaction and closed afterwards
+     */
+    @QueryHints({@QueryHint(name = HINT_FETCH_SIZE, value = "500"), @QueryHint(name = HINT_READONLY, value = "true")})
+    @Query("select a from Anime a")
+    Stream<Anime> streamAll();
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Anime a set a.name = :name, a.version = a.version + 1 where a.id = :id")
+    int updateNameById(@Param("id") Long id, @Param("name") String name);
+
+    @Modifying(clearAutomatically = true)
+    @Query("update Anime a set a.name = :name, a.version = a.version + 1 where a.id = :id and a.version = :version")
+    int updateNameByIdAndVersion(@Param("id") Long id, @Param("name") String name, @Param("version") Long version);
+
+    @Modifying(clearAutomatically = true)
+    @Query("delete from Anime a where a.id in :ids")
+    int deleteByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -17,4 +17,8 @@ public class AnimeRequestBody {
     @NotEmpty(message = "The anime cannot be empty")
     @Schema(description = "This is the Anime's name", example = "Tensei Shittara Sleme Datta Ken", required = true)
     private String name;
+
+    @Schema(description = "Version read by the client, when informed the replace fails if the anime was changed since then",
+            example = "0")
+    private Long version;
 }
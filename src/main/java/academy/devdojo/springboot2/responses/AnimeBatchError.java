@@ -0,0 +1,20 @@
+package academy.devdojo.springboot2.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AnimeBatchError {
+
+    /**
+     * Position of the rejected item in the request body
+     */
+    private int index;
+    private String fields;
+    private String fieldsMessage;
+}
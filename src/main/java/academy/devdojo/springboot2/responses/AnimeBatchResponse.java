@@ -0,0 +1,19 @@
+package academy.devdojo.springboot2.responses;
+
+import academy.devdojo.springboot2.domain.Anime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AnimeBatchResponse {
+
+    private List<Anime> created;
+    private List<AnimeBatchError> errors;
+}
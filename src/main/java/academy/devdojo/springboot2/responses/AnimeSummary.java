@@ -0,0 +1,20 @@
+package academy.devdojo.springboot2.responses;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Read-only view of an anime, built straight from the query result without going through the persistence context
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class AnimeSummary {
+
+    private Long id;
+    private String name;
+    private Long version;
+}
@@ -0,0 +1,302 @@
+package academy.devdojo.springboot2.search;
+
+import academy.devdojo.springboot2.domain.Anime;
+import academy.devdojo.springboot2.repository.AnimeRepository;
+import academy.devdojo.springboot2.util.TransactionUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+import lombok.Value;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * In-memory trigram index over anime names, built at startup and kept up to date by the AnimeService write paths.
+ * <p>
+ * Every word is padded at the start, so the first grams of a query word also work as a prefix match,
+ * and typos are tolerated by ranking names by the share of query grams they contain.
+ * <p>
+ * Normalized names are also kept sorted for autocomplete, a prefix lookup is a log(n) seek followed
+ * by a scan of at most the requested number of completions.
+ */
+@Log4j2
+@Component
+@RequiredArgsConstructor
+public class AnimeSearchIndex implements MeterBinder {
+
+    private static final int GRAM_SIZE = 3;
+    private static final String WORD_START = "$$";
+    private static final String WORD_END = "$";
+    private static final char KEY_SEPARATOR = '\u0000';
+    private static final double MIN_SIMILARITY = 0.4;
+    private static final int MIN_COMMON_GRAM_TITLES = 1000;
+    private static final Comparator<Match> RANKING = Comparator.comparingDouble(Match::getScore).reversed()
+            .thenComparingInt(match -> match.getName().length())
+            .thenComparingLong(Match::getId);
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{InCombiningDiacriticalMarks}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{IsAlphabetic}\\p{IsDigit}]+");
+
+    private final AnimeRepository animeRepository;
+    private final EntityManager entityManager;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<Long>> postings = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<String, String> completions = new ConcurrentSkipListMap<>();
+
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        synchronized (this) {
+            entries.clear();
+            postings.clear();
+            completions.clear();
+            try (Stream<Anime> animes = animeRepository.streamAll()) {
+                animes.forEach(anime -> {
+                    put(anime.getId(), anime.getName());
+                    entityManager.detach(anime);
+                });
+            }
+        }
+        log.info("Anime search index built with {} titles", entries.size());
+    }
+
+    /**
+     * Applied after commit when called inside a transaction
+     */
+    public void index(Long id, String name) {
+        TransactionUtil.runAfterCommit(() -> put(id, name));
+    }
+
+    /**
+     * Applied after commit when called inside a transaction
+     */
+    public void remove(Long id) {
+        TransactionUtil.runAfterCommit(() -> delete(id));
+    }
+
+    /**
+     * Exact matches come first, then names starting with the query, then names containing it,
+     * then names sharing enough trigrams with it. Only the best offset + page size matches are kept
+     * while scoring, so a page costs a bounded heap instead of sorting every match
+     */
+    public Page<Anime> search(String query, Pageable pageable) {
+        String normalizedQuery = normalize(query);
+        if (normalizedQuery.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        List<Set<Long>> queryPostings = new ArrayList<>();
+        for (String gram : grams(normalizedQuery, false)) {
+            queryPostings.add(postings.getOrDefault(gram, Set.of()));
+        }
+
+        int limit = pageable.isPaged()
+                ? (int) Math.min(Integer.MAX_VALUE, pageable.getOffset() + pageable.getPageSize())
+                : Integer.MAX_VALUE;
+        PriorityQueue<Match> top = new PriorityQueue<>(Math.max(1, Math.min(limit, 1024)), RANKING.reversed());
+        int total = 0;
+        for (Long id : candidates(queryPostings)) {
+            Entry entry = entries.get(id);
+            if (entry == null) {
+                continue;
+            }
+            int shared = 0;
+            for (Set<Long> ids : queryPostings) {
+                if (ids.contains(id)) {
+                    shared++;
+                }
+            }
+            double score = score(normalizedQuery, entry.getNormalizedName(), (double) shared / queryPostings.size());
+            if (score < MIN_SIMILARITY) {
+                continue;
+            }
+            total++;
+            Match match = new Match(id, entry.getName(), score);
+            if (top.size() < limit) {
+                top.add(match);
+            } else if (RANKING.compare(match, top.peek()) < 0) {
+                top.poll();
+                top.add(match);
+            }
+        }
+
+        List<Match> ranked = new ArrayList<>(top);
+        ranked.sort(RANKING);
+        List<Match> pageContent = pageable.isPaged()
+                ? ranked.subList(Math.min((int) pageable.getOffset(), ranked.size()), ranked.size())
+                : ranked;
+
+        return new PageImpl<>(pageContent.stream()
+                .map(match -> Anime.builder().id(match.getId()).name(match.getName()).build())
+                .collect(Collectors.toList()), pageable, total);
+    }
+
+    /**
+     * Distinct names starting with the prefix, in alphabetical order of their normalized form
+     */
+    public List<String> suggest(String prefix, int limit) {
+        String normalizedPrefix = normalize(prefix);
+        if (normalizedPrefix.isEmpty()) {
+            return List.of();
+        }
+        Set<String> suggestions = new LinkedHashSet<>();
+        for (Map.Entry<String, String> completion : completions.tailMap(normalizedPrefix).entrySet()) {
+            if (!completion.getKey().startsWith(normalizedPrefix) || suggestions.size() == limit) {
+                break;
+            }
+            suggestions.add(completion.getValue());
+        }
+        return new ArrayList<>(suggestions);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("anime.search.index.titles", this, AnimeSearchIndex::size)
+                .description("Titles held by the in-memory search and autocomplete index")
+                .register(registry);
+        Gauge.builder("anime.search.index.grams", postings, Map::size)
+                .description("Distinct trigrams held by the in-memory search index")
+                .register(registry);
+    }
+
+    /**
+     * Letters and digits of any script are kept. Only Latin, Greek and Cyrillic accents are dropped, kana
+     * voicing marks and Hangul syllables are composed back so they stay distinct
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String withoutDiacritics = Normalizer.normalize(
+                DIACRITICS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll(""), Normalizer.Form.NFC);
+        return NON_ALPHANUMERIC.matcher(withoutDiacritics.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    private static double score(String normalizedQuery, String normalizedName, double similarity) {
+        if (normalizedName.equals(normalizedQuery)) {
+            return 3 + similarity;
+        }
+        if (normalizedName.startsWith(normalizedQuery)) {
+            return 2 + similarity;
+        }
+        if (normalizedName.contains(normalizedQuery)) {
+            return 1 + similarity;
+        }
+        return similarity;
+    }
+
+    /**
+     * Grams held by more than a tenth of the titles, like "$$t" or "the", are not all scanned. A title sharing
+     * none of the rarer grams needs minShared of the common ones to reach MIN_SIMILARITY, so it holds at least
+     * one of the (common - minShared + 1) rarest common grams: scanning those keeps the total and the ranking
+     * exact, and nothing common is scanned when the common grams alone cannot reach the threshold
+     */
+    private Collection<Long> candidates(List<Set<Long>> queryPostings) {
+        int commonGramTitles = Math.max(MIN_COMMON_GRAM_TITLES, entries.size() / 10);
+        Set<Long> candidates = new HashSet<>();
+        List<Set<Long>> common = new ArrayList<>();
+        for (Set<Long> ids : queryPostings) {
+            if (ids.size() <= commonGramTitles) {
+                candidates.addAll(ids);
+            } else {
+                common.add(ids);
+            }
+        }
+        int minShared = (int) Math.ceil(MIN_SIMILARITY * queryPostings.size());
+        int commonToScan = common.size() - minShared + 1;
+        if (commonToScan > 0) {
+            common.sort(Comparator.comparingInt(Set::size));
+            common.subList(0, commonToScan).forEach(candidates::addAll);
+        }
+        return candidates;
+    }
+
+    /**
+     * Query words are not padded at the end, so a partial word still matches as a prefix
+     */
+    private static Set<String> grams(String normalizedText, boolean padEnd) {
+        Set<String> grams = new HashSet<>();
+        for (String word : normalizedText.split(" ")) {
+            String padded = WORD_START + word + (padEnd ? WORD_END : "");
+            for (int start = 0; start + GRAM_SIZE <= padded.length(); start++) {
+                grams.add(padded.substring(start, start + GRAM_SIZE));
+            }
+        }
+        return grams;
+    }
+
+    private synchronized void put(Long id, String name) {
+        Entry entry = new Entry(name, normalize(name));
+        Entry previousEntry = entries.put(id, entry);
+        if (previousEntry != null) {
+            unindex(id, previousEntry);
+        }
+        for (String gram : grams(entry.getNormalizedName(), true)) {
+            postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id);
+        }
+        completions.put(completionKey(id, entry), name);
+    }
+
+    private synchronized void delete(Long id) {
+        Entry previousEntry = entries.remove(id);
+        if (previousEntry != null) {
+            unindex(id, previousEntry);
+        }
+    }
+
+    private static String completionKey(Long id, Entry entry) {
+        return entry.getNormalizedName() + KEY_SEPARATOR + id;
+    }
+
+    private void unindex(Long id, Entry entry) {
+        completions.remove(completionKey(id, entry));
+        for (String gram : grams(entry.getNormalizedName(), true)) {
+            postings.computeIfPresent(gram, (key, ids) -> {
+                ids.remove(id);
+                return ids.isEmpty() ? null : ids;
+            });
+        }
+    }
+
+    @Value
+    private static class Entry {
+        String name;
+        String normalizedName;
+    }
+
+    @Value
+    private static class Match {
+        long id;
+        String name;
+        double score;
+    }
+}
@@ -0,0 +1,86 @@
+package academy.devdojo.springboot2.service;
+
+import academy.devdojo.springboot2.config.CacheConfig;
+import academy.devdojo.springboot2.domain.Anime;
+import academy.devdojo.springboot2.util.TransactionUtil;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Animes found by id and by name.
+ * <p>
+ * A lookup that loaded the row before a write committed must not store it after the write
+ * evicted it, so every put is tagged with the generation that was current when the lookup started
+ */
+@Component
+public class AnimeLookupCache {
+
+    private final Cache byId;
+    private final Cache byName;
+    private final AtomicLong generation = new AtomicLong();
+
+    public AnimeLookupCache(CacheManager cacheManager) {
+        this.byId = Objects.requireNonNull(cacheManager.getCache(CacheConfig.ANIME_BY_ID));
+        this.byName = Objects.requireNonNull(cacheManager.getCache(CacheConfig.ANIME_BY_NAME));
+    }
+
+    public long generation() {
+        return generation.get();
+    }
+
+    public Anime getById(Long id) {
+        return byId.get(id, Anime.class);
+    }
+
+    public Anime getByName(String name) {
+        return byName.get(name, Anime.class);
+    }
+
+    public void putById(Long id, long loadedAt, Anime anime) {
+        put(byId, id, loadedAt, anime);
+    }
+
+    public void putByName(String name, long loadedAt, Anime anime) {
+        put(byName, name, loadedAt, anime);
+    }
+
+    /**
+     * Names are cleared instead of evicted because MySQL compares them case insensitively
+     */
+    public void evict(Long id) {
+        TransactionUtil.runNowAndAfterCommit(() -> {
+            generation.incrementAndGet();
+            byId.evict(id);
+            byName.clear();
+        });
+    }
+
+    public void evictNames() {
+        TransactionUtil.runNowAndAfterCommit(() -> {
+            generation.incrementAndGet();
+            byName.clear();
+        });
+    }
+
+    public void evictAll() {
+        TransactionUtil.runNowAndAfterCommit(() -> {
+            generation.incrementAndGet();
+            byId.clear();
+            byName.clear();
+        });
+    }
+
+    private void put(Cache cache, Object key, long loadedAt, Anime anime) {
+        if (generation.get() != loadedAt) {
+            return;
+        }
+        cache.put(key, anime);
+        if (generation.get() != loadedAt) {
+            cache.evict(key);
+        }
+    }
+}
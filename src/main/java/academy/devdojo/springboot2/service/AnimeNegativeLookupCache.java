@@ -0,0 +1,62 @@
+package academy.devdojo.springboot2.service;
+
+import academy.devdojo.springboot2.config.CacheConfig;
+import academy.devdojo.springboot2.domain.Anime;
+import academy.devdojo.springboot2.util.TransactionUtil;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.Objects;
+
+/**
+ * Remembers ids and names that were not found so repeated misses skip the database
+ */
+@Component
+public class AnimeNegativeLookupCache {
+
+    private final Cache missingById;
+    private final Cache missingByName;
+
+    public AnimeNegativeLookupCache(CacheManager cacheManager) {
+        this.missingById = Objects.requireNonNull(cacheManager.getCache(CacheConfig.ANIME_MISSING_BY_ID));
+        this.missingByName = Objects.requireNonNull(cacheManager.getCache(CacheConfig.ANIME_MISSING_BY_NAME));
+    }
+
+    public boolean isMissingId(Long id) {
+        return missingById.get(id) != null;
+    }
+
+    public boolean isMissingName(String name) {
+        return missingByName.get(name) != null;
+    }
+
+    public void markMissingId(Long id) {
+        missingById.put(id, Boolean.TRUE);
+    }
+
+    public void markMissingName(String name) {
+        missingByName.put(name, Boolean.TRUE);
+    }
+
+    /**
+     * Names are cleared instead of evicted because MySQL compares them case insensitively
+     */
+    public void forget(Anime anime) {
+        TransactionUtil.runNowAndAfterCommit(() -> {
+            missingById.evict(anime.getId());
+            missingByName.clear();
+        });
+    }
+
+    public void forgetNames() {
+        TransactionUtil.runNowAndAfterCommit(missingByName::clear);
+    }
+
+    public void forgetAll() {
+        TransactionUtil.runNowAndAfterCommit(() -> {
+            missingById.clear();
+            missingByName.clear();
+        });
+    }
+}
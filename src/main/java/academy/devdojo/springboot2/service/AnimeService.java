@@ -2,55 +2,313 @@ package academy.devdojo.springboot2.service;
 
 import academy.devdojo.springboot2.domain.Anime;
 import academy.devdojo.springboot2.exception.BadRequestException;
+import academy.devdojo.springboot2.exception.ConflictException;
+import academy.devdojo.springboot2.filter.AnimeResponseCache;
 import academy.devdojo.springboot2.mapper.AnimeMapper;
+import academy.devdojo.springboot2.repository.AnimeBatchRepository;
 import academy.devdojo.springboot2.repository.AnimeRepository;
+import academy.devdojo.springboot2.requests.AnimeReplaceRequestBody;
 import academy.devdojo.springboot2.requests.AnimeRequestBody;
+import academy.devdojo.springboot2.responses.AnimeBatchError;
+import academy.devdojo.springboot2.responses.AnimeBatchResponse;
+import academy.devdojo.springboot2.responses.AnimeSummary;
+import academy.devdojo.springboot2.search.AnimeSearchIndex;
+import academy.devdojo.springboot2.wrapper.CompactPage;
+import academy.devdojo.springboot2.wrapper.CompactSlice;
+import academy.devdojo.springboot2.wrapper.CursorPage;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
-import javax.transaction.Transactional;
+import javax.persistence.EntityManager;
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
+/**
+ * Reads run in read-only transactions: Hibernate skips dirty checking and flushing, and with
+ * devdojo.datasource.replicas.enabled they are sent to a replica
+ */
 @Service
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class AnimeService {
 
+    private static final int MAX_CURSOR_PAGE_SIZE = 100;
+    private static final int MAX_SUGGESTIONS = 50;
+
     private final AnimeRepository respository;
+    private final AnimeBatchRepository batchRepository;
+    private final EntityManager entityManager;
+    private final AnimeLookupCache lookupCache;
+    private final AnimeNegativeLookupCache negativeLookupCache;
+    private final AnimeSearchIndex searchIndex;
+    private final AnimeResponseCache responseCache;
+    private final Validator validator;
+
+    public CompactPage<AnimeSummary> listAll(Pageable pageable) {
+        return CompactPage.of(respository.findAllProjectedBy(pageable));
+    }
 
-    public Page<Anime> listAll(Pageable pageable) {
-        return respository.findAll(pageable);
+    /**
+     * Same as listAll but without the count query, useful for clients that only scroll
+     */
+    public CompactSlice<AnimeSummary> listAllWithoutCount(Pageable pageable) {
+        return CompactSlice.of(respository.findSliceProjectedBy(pageable));
     }
+
+    /**
+     * Keyset pagination, the cost of a page does not depend on how deep it is
+     */
+    public CursorPage<Anime> listAfter(String after, int size) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be greater than zero");
+        }
+        int pageSize = Math.min(size, MAX_CURSOR_PAGE_SIZE);
+        Slice<Anime> slice = respository.findByIdGreaterThan(decodeCursor(after),
+                PageRequest.of(0, pageSize, Sort.by("id")));
+
+        List<Anime> content = slice.getContent();
+        String next = slice.hasNext() ? encodeCursor(content.get(content.size() - 1).getId()) : null;
+
+        return CursorPage.<Anime>builder()
+                .content(content)
+                .size(pageSize)
+                .next(next)
+                .build();
+    }
+
     public List<Anime> listAllNonPageable() {
         return respository.findAll();
     }
 
+    /**
+     * Hands every anime to the consumer one at a time, detaching it right after so the
+     * persistence context does not grow with the table
+     */
+    public void streamAllNonPageable(Consumer<Anime> consumer) {
+        try (Stream<Anime> animes = respository.streamAll()) {
+            animes.forEach(anime -> {
+                consumer.accept(anime);
+                entityManager.detach(anime);
+            });
+        }
+    }
+
+    /**
+     * Prefix, case insensitive and typo tolerant search served by the in-memory index
+     */
+    public Page<Anime> search(String query, Pageable pageable) {
+        return searchIndex.search(query, pageable);
+    }
+
+    public List<String> suggest(String prefix, int limit) {
+        if (limit < 1) {
+            throw new BadRequestException("Limit must be greater than zero");
+        }
+        return searchIndex.suggest(prefix, Math.min(limit, MAX_SUGGESTIONS));
+    }
+
+    /**
+     * Cache hits are answered without opening a transaction, misses are loaded from the primary so
+     * neither the anime nor its absence is cached from a replica that is behind
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Anime findByIdOrThrowBadRequestException(Long id) {
-        return respository.findById(id)
-                .orElseThrow(() -> new BadRequestException("Anime not Found"));
+        Anime cachedAnime = lookupCache.getById(id);
+        if (cachedAnime != null) {
+            return cachedAnime;
+        }
+        if (negativeLookupCache.isMissingId(id)) {
+            throw new BadRequestException("Anime not Found");
+        }
+        long loadedAt = lookupCache.generation();
+        Anime anime = respository.findByIdOnPrimary(id)
+                .orElseThrow(() -> {
+                    negativeLookupCache.markMissingId(id);
+                    return new BadRequestException("Anime not Found");
+                });
+        lookupCache.putById(id, loadedAt, anime);
+        return anime;
     }
 
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Anime findByNameOrThrowBadRequestException(AnimeRequestBody animeRequestBody) {
-        return respository.findByName(animeRequestBody.getName())
-                .orElseThrow(() -> new BadRequestException("Anime not Found"));
+        String name = animeRequestBody.getName();
+        Anime cachedAnime = lookupCache.getByName(name);
+        if (cachedAnime != null) {
+            return cachedAnime;
+        }
+        if (negativeLookupCache.isMissingName(name)) {
+            throw new BadRequestException("Anime not Found");
+        }
+        long loadedAt = lookupCache.generation();
+        Anime anime = respository.findByNameOnPrimary(name)
+                .orElseThrow(() -> {
+                    negativeLookupCache.markMissingName(name);
+                    return new BadRequestException("Anime not Found");
+                });
+        lookupCache.putByName(name, loadedAt, anime);
+        return anime;
     }
 
     @Transactional
     public Anime save(AnimeRequestBody animeRequestBody) {
-        return respository.save(AnimeMapper.INSTANCE.toAnime(animeRequestBody));
+        Anime savedAnime = respository.save(AnimeMapper.INSTANCE.toAnime(animeRequestBody));
+        lookupCache.evictNames();
+        negativeLookupCache.forget(savedAnime);
+        searchIndex.index(savedAnime.getId(), savedAnime.getName());
+        responseCache.invalidate();
+        return savedAnime;
+    }
+
+    /**
+     * Invalid items are reported back with their position, the valid ones are inserted in JDBC batches
+     */
+    @Transactional
+    public AnimeBatchResponse saveAll(List<AnimeRequestBody> animeRequestBodies) {
+        List<Anime> animesToBeSaved = new ArrayList<>(animeRequestBodies.size());
+        List<AnimeBatchError> errors = new ArrayList<>();
 
+        for (int index = 0; index < animeRequestBodies.size(); index++) {
+            AnimeRequestBody animeRequestBody = animeRequestBodies.get(index);
+            if (animeRequestBody == null) {
+                errors.add(AnimeBatchError.builder().index(index).fieldsMessage("The anime cannot be null").build());
+                continue;
+            }
+            Set<ConstraintViolation<AnimeRequestBody>> violations = validator.validate(animeRequestBody);
+            if (!violations.isEmpty()) {
+                errors.add(toBatchError(index, violations));
+                continue;
+            }
+            animesToBeSaved.add(AnimeMapper.INSTANCE.toAnime(animeRequestBody));
+        }
+
+        List<Anime> savedAnimes = animesToBeSaved.isEmpty() ? List.of() : batchRepository.insertAll(animesToBeSaved);
+        lookupCache.evictNames();
+        negativeLookupCache.forgetAll();
+        savedAnimes.forEach(anime -> searchIndex.index(anime.getId(), anime.getName()));
+        responseCache.invalidate();
+
+        return AnimeBatchResponse.builder()
+                .created(savedAnimes)
+                .errors(errors)
+                .build();
     }
 
     @Transactional
     public void delete(Long id) {
         respository.deleteById(id);
+        lookupCache.evict(id);
+        searchIndex.remove(id);
+        responseCache.invalidate();
+    }
+
+    /**
+     * Single set based delete, nothing is deleted if any of the ids does not exist
+     */
+    @Transactional
+    public void deleteAll(List<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        if (distinctIds.isEmpty()) {
+            throw new BadRequestException("At least one anime id must be informed");
+        }
+        if (respository.deleteByIdIn(distinctIds) != distinctIds.size()) {
+            throw new BadRequestException("Anime not Found");
+        }
+        lookupCache.evictAll();
+        distinctIds.forEach(searchIndex::remove);
+        responseCache.invalidate();
     }
 
+    /**
+     * Single update statement, when the request has a version the update only happens
+     * if nobody changed the anime since that version was read
+     */
     @Transactional
     public void replace(Long id, AnimeRequestBody animeRequestBody) {
-        Anime anime = findByIdOrThrowBadRequestException(id);
-        anime.setName(animeRequestBody.getName());
-        respository.save(anime);
+        Long version = animeRequestBody.getVersion();
+        int updatedRows = version == null
+                ? respository.updateNameById(id, animeRequestBody.getName())
+                : respository.updateNameByIdAndVersion(id, animeRequestBody.getName(), version);
+
+        if (updatedRows == 0) {
+            if (version != null && respository.existsById(id)) {
+                throw new ConflictException("Anime was changed by another request");
+            }
+            throw new BadRequestException("Anime not Found");
+        }
+        lookupCache.evict(id);
+        negativeLookupCache.forgetNames();
+        searchIndex.index(id, animeRequestBody.getName());
+        responseCache.invalidate();
+    }
+
+    /**
+     * Batched updates in a single transaction, nothing is updated if any of the ids does not exist
+     */
+    @Transactional
+    public void replaceAll(List<AnimeReplaceRequestBody> animeReplaceRequestBodies) {
+        String invalidPositions = IntStream.range(0, animeReplaceRequestBodies.size())
+                .filter(index -> animeReplaceRequestBodies.get(index) == null
+                        || !validator.validate(animeReplaceRequestBodies.get(index)).isEmpty())
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(", "));
+        if (!invalidPositions.isEmpty()) {
+            throw new BadRequestException("Invalid anime at position(s): " + invalidPositions);
+        }
+
+        List<Anime> animes = animeReplaceRequestBodies.stream()
+                .map(body -> Anime.builder().id(body.getId()).name(body.getName()).build())
+                .collect(Collectors.toList());
+        int[] updatedRows = batchRepository.updateNames(animes);
+        if (Arrays.stream(updatedRows).anyMatch(rows -> rows == 0)) {
+            throw new BadRequestException("Anime not Found");
+        }
+        lookupCache.evictAll();
+        negativeLookupCache.forgetNames();
+        animes.forEach(anime -> searchIndex.index(anime.getId(), anime.getName()));
+        responseCache.invalidate();
+    }
+
+    private AnimeBatchError toBatchError(int index, Set<ConstraintViolation<AnimeRequestBody>> violations) {
+        return AnimeBatchError.builder()
+                .index(index)
+                .fields(violations.stream().map(violation -> violation.getPropertyPath().toString())
+                        .collect(Collectors.joining(", ")))
+                .fieldsMessage(violations.stream().map(ConstraintViolation::getMessage)
+                        .collect(Collectors.joining(", ")))
+                .build();
+    }
+
+    private String encodeCursor(Long id) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(id.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Long decodeCursor(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return 0L;
+        }
+        try {
+            return Long.valueOf(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            throw new BadRequestException("Invalid cursor");
+        }
     }
 }
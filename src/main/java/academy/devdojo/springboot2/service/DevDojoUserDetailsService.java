@@ -1,7 +1,9 @@
 package academy.devdojo.springboot2.service;
 
+import academy.devdojo.springboot2.config.CacheConfig;
 import academy.devdojo.springboot2.repository.DevDojoUserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
@@ -16,6 +18,7 @@ public class DevDojoUserDetailsService implements UserDetailsService {
     private final DevDojoUserRepository devDojoUserRepository;
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.DEV_DOJO_USERS, key = "#username")
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         return Optional.ofNullable(devDojoUserRepository.findByUsername(username))
                 .orElseThrow(() -> new UsernameNotFoundException("DevDojo User not found"));
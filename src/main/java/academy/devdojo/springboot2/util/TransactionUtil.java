@@ -0,0 +1,37 @@
+package academy.devdojo.springboot2.util;
+
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+public final class TransactionUtil {
+
+    private TransactionUtil() {
+    }
+
+    /**
+     * Runs after the current transaction commits, or right away when there is no transaction
+     */
+    public static void runAfterCommit(Runnable runnable) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            runnable.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                runnable.run();
+            }
+        });
+    }
+
+    /**
+     * For invalidations: a read running before the commit could repopulate what was invalidated,
+     * so the invalidation is repeated once the commit happened
+     */
+    public static void runNowAndAfterCommit(Runnable runnable) {
+        runnable.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            runAfterCommit(runnable);
+        }
+    }
+}
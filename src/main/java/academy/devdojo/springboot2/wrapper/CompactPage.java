@@ -0,0 +1,42 @@
+package academy.devdojo.springboot2.wrapper;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+
+/**
+ * Page envelope without the pageable and sort objects Jackson writes for a PageImpl,
+ * the remaining fields keep their names so PageableResponse still reads it
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CompactPage<T> {
+
+    private List<T> content;
+    private int number;
+    private int size;
+    private long totalElements;
+    private int totalPages;
+    private int numberOfElements;
+    private boolean first;
+    private boolean last;
+
+    public static <T> CompactPage<T> of(Page<T> page) {
+        return CompactPage.<T>builder()
+                .content(page.getContent())
+                .number(page.getNumber())
+                .size(page.getSize())
+                .totalElements(page.getTotalElements())
+                .totalPages(page.getTotalPages())
+                .numberOfElements(page.getNumberOfElements())
+                .first(page.isFirst())
+                .last(page.isLast())
+                .build();
+    }
+}
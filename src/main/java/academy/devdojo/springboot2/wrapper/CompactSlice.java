@@ -0,0 +1,40 @@
+package academy.devdojo.springboot2.wrapper;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.domain.Slice;
+
+import java.util.List;
+
+/**
+ * Slice envelope without the pageable and sort objects Jackson writes for a SliceImpl,
+ * no count query runs so there is no totalElements or totalPages
+ */
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CompactSlice<T> {
+
+    private List<T> content;
+    private int number;
+    private int size;
+    private int numberOfElements;
+    private boolean first;
+    private boolean last;
+    private boolean hasNext;
+
+    public static <T> CompactSlice<T> of(Slice<T> slice) {
+        return CompactSlice.<T>builder()
+                .content(slice.getContent())
+                .number(slice.getNumber())
+                .size(slice.getSize())
+                .numberOfElements(slice.getNumberOfElements())
+                .first(slice.isFirst())
+                .last(slice.isLast())
+                .hasNext(slice.hasNext())
+                .build();
+    }
+}
@@ -0,0 +1,22 @@
+package academy.devdojo.springboot2.wrapper;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> content;
+    private int size;
+    /**
+     * Opaque cursor to be sent back as the after parameter, null on the last page
+     */
+    private String next;
+}
@@ -0,0 +1,62 @@
+package academy.devdojo.springboot2.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+class CachingPasswordEncoderTest {
+
+    private static final String ENCODED_PASSWORD = "{bcrypt}$2a$10$hSTIR1LEGbkA6US1B0IJVeoTsHrFKzPwXSeE40SvIFckopmMHoUTm";
+
+    @Mock
+    PasswordEncoder delegate;
+
+    CachingPasswordEncoder cachingPasswordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        cachingPasswordEncoder = new CachingPasswordEncoder(delegate, Caffeine.newBuilder().maximumSize(10).build());
+        when(delegate.matches("academy", ENCODED_PASSWORD)).thenReturn(true);
+        when(delegate.matches("wrong", ENCODED_PASSWORD)).thenReturn(false);
+    }
+
+    @Test
+    @DisplayName("matches verifies the password once when the same credentials are sent twice")
+    void matches_VerifiesOnce_WhenSameCredentialsAreSentTwice() {
+        Assertions.assertThat(cachingPasswordEncoder.matches("academy", ENCODED_PASSWORD)).isTrue();
+        Assertions.assertThat(cachingPasswordEncoder.matches("academy", ENCODED_PASSWORD)).isTrue();
+
+        verify(delegate, times(1)).matches("academy", ENCODED_PASSWORD);
+    }
+
+    @Test
+    @DisplayName("matches does not cache failed verifications")
+    void matches_DoesNotCacheFailedVerifications() {
+        Assertions.assertThat(cachingPasswordEncoder.matches("wrong", ENCODED_PASSWORD)).isFalse();
+        Assertions.assertThat(cachingPasswordEncoder.matches("wrong", ENCODED_PASSWORD)).isFalse();
+
+        verify(delegate, times(2)).matches("wrong", ENCODED_PASSWORD);
+    }
+
+    @Test
+    @DisplayName("matches verifies again when the stored hash changes")
+    void matches_VerifiesAgain_WhenStoredHashChanges() {
+        String newEncodedPassword = ENCODED_PASSWORD + "x";
+        when(delegate.matches("academy", newEncodedPassword)).thenReturn(false);
+
+        cachingPasswordEncoder.matches("academy", ENCODED_PASSWORD);
+
+        Assertions.assertThat(cachingPasswordEncoder.matches("academy", newEncodedPassword)).isFalse();
+    }
+}
@@ -0,0 +1,73 @@
+package academy.devdojo.springboot2.config;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+class ReadWriteRoutingDataSourceTest {
+
+    private static final String SELECT_NODE = "select name from node";
+
+    ReadWriteRoutingDataSource routingDataSource;
+
+    JdbcTemplate jdbcTemplate;
+
+    TransactionTemplate readWriteTransaction;
+
+    TransactionTemplate readOnlyTransaction;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource primary = embeddedDatabase("primary");
+        DriverManagerDataSource replica = embeddedDatabase("replica");
+
+        routingDataSource = new ReadWriteRoutingDataSource(primary, List.of(replica));
+        routingDataSource.afterPropertiesSet();
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(routingDataSource);
+
+        DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        readWriteTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @Test
+    @DisplayName("getConnection routes to the replica when the transaction is read-only")
+    void getConnection_RoutesToReplica_WhenTransactionIsReadOnly() {
+        String node = readOnlyTransaction.execute(status -> jdbcTemplate.queryForObject(SELECT_NODE, String.class));
+
+        Assertions.assertThat(node).isEqualTo("replica");
+    }
+
+    @Test
+    @DisplayName("getConnection routes to the primary when the transaction is read-write")
+    void getConnection_RoutesToPrimary_WhenTransactionIsReadWrite() {
+        String node = readWriteTransaction.execute(status -> jdbcTemplate.queryForObject(SELECT_NODE, String.class));
+
+        Assertions.assertThat(node).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("getConnection routes to the primary when there is no transaction")
+    void getConnection_RoutesToPrimary_WhenThereIsNoTransaction() {
+        Assertions.assertThat(jdbcTemplate.queryForObject(SELECT_NODE, String.class)).isEqualTo("primary");
+    }
+
+    private DriverManagerDataSource embeddedDatabase(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.execute("create table if not exists node (name varchar(20))");
+        template.update("delete from node");
+        template.update("insert into node (name) values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,85 @@
+package academy.devdojo.springboot2.controller;
+
+import academy.devdojo.springboot2.domain.Anime;
+import academy.devdojo.springboot2.responses.AnimeSummary;
+import academy.devdojo.springboot2.service.AnimeService;
+import academy.devdojo.springboot2.util.AnimeCreator;
+import academy.devdojo.springboot2.wrapper.CompactPage;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.when;
+
+@ExtendWith(SpringExtension.class)
+class AnimeAsyncControllerTest {
+
+    AnimeAsyncController animeAsyncController;
+
+    @Mock
+    AnimeService animeService;
+
+    @BeforeEach
+    void setUp() {
+        animeAsyncController = new AnimeAsyncController(animeService, new TaskExecutorAdapter(new SyncTaskExecutor()));
+
+        when(animeService.listAll(any()))
+                .thenReturn(CompactPage.of(new PageImpl<>(List.of(AnimeCreator.createValidAnimeSummary()))));
+        when(animeService.listAllNonPageable()).thenReturn(List.of(AnimeCreator.createValidAnime()));
+        when(animeService.findByIdOrThrowBadRequestException(anyLong())).thenReturn(AnimeCreator.createValidAnime());
+    }
+
+    @Test
+    @DisplayName("list returns list of anime inside page object when successful")
+    void list_ReturnListOfAnimesInsidePageObject_WhenSuccessful() {
+        String expectedName = AnimeCreator.createValidAnime().getName();
+
+        CompactPage<AnimeSummary> animePage = animeAsyncController.list(null).join().getBody();
+
+        Assertions.assertThat(animePage).isNotNull();
+        Assertions.assertThat(animePage.getContent()).hasSize(1);
+        Assertions.assertThat(animePage.getContent().get(0).getName()).isEqualTo(expectedName);
+    }
+
+    @Test
+    @DisplayName("listAllNonPageable returns list of anime when successful")
+    void listAllNonPageable_ReturnListOfAnimes_WhenSuccessful() {
+        List<Anime> animes = animeAsyncController.listAllNonPageable().join().getBody();
+
+        Assertions.assertThat(animes).isNotNull().hasSize(1);
+    }
+
+    @Test
+    @DisplayName("findById returns anime when successful")
+    void findById_ReturnAnime_WhenSuccessful() {
+        Long expectedId = AnimeCreator.createValidAnime().getId();
+
+        Anime anime = animeAsyncController.findById(1L).join().getBody();
+
+        Assertions.assertThat(anime).isNotNull();
+        Assertions.assertThat(anime.getId()).isEqualTo(expectedId);
+    }
+
+    @Test
+    @DisplayName("list throws TaskRejectedException when the executor is full")
+    void list_ThrowsTaskRejectedException_WhenExecutorIsFull() {
+        animeAsyncController = new AnimeAsyncController(animeService, new TaskExecutorAdapter(task -> {
+            throw new TaskRejectedException("Executor is full");
+        }));
+
+        Assertions.assertThatExceptionOfType(TaskRejectedException.class)
+                .isThrownBy(() -> animeAsyncController.list(null));
+    }
+}
@@ -3,9 +3,11 @@ package academy.devdojo.springboot2.controller;
 import academy.devdojo.springboot2.domain.Anime;
 import academy.devdojo.springboot2.exception.BadRequestException;
 import academy.devdojo.springboot2.requests.AnimeRequestBody;
+import academy.devdojo.springboot2.responses.AnimeSummary;
 import academy.devdojo.springboot2.service.AnimeService;
 import academy.devdojo.springboot2.util.AnimeCreator;
 import academy.devdojo.springboot2.util.AnimeRequestBodyCreator;
+import academy.devdojo.springboot2.wrapper.CompactPage;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,7 +15,6 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -38,7 +39,7 @@ class AnimeControllerTest {
     @BeforeEach
     void setUp() {
         List<Anime> animeList = List.of(AnimeCreator.createValidAnime());
-        PageImpl<Anime> animePage = new PageImpl<>(animeList);
+        CompactPage<AnimeSummary> animePage = CompactPage.of(new PageImpl<>(List.of(AnimeCreator.createValidAnimeSummary())));
 
         when(animeService.listAll(any())).thenReturn(animePage);
         when(animeService.listAllNonPageable()).thenReturn(animeList);
@@ -55,11 +56,11 @@ class AnimeControllerTest {
 
         String expectedName = AnimeCreator.createValidAnime().getName();
 
-        Page<Anime> animePage = animeController.list(null).getBody();
+        CompactPage<AnimeSummary> animePage = animeController.list(null).getBody();
 
         Assertions.assertThat(animePage).isNotNull();
-        Assertions.assertThat(animePage.toList()).isNotEmpty().hasSize(1);
-        Assertions.assertThat(animePage.toList().get(0).getName()).isEqualTo(expectedName);
+        Assertions.assertThat(animePage.getContent()).isNotEmpty().hasSize(1);
+        Assertions.assertThat(animePage.getContent().get(0).getName()).isEqualTo(expectedName);
     }
 
     @Test
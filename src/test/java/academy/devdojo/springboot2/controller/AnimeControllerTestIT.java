@@ -4,7 +4,12 @@ import academy.devdojo.springboot2.domain.Anime;
 import academy.devdojo.springboot2.domain.DevDojoUser;
 import academy.devdojo.springboot2.repository.AnimeRepository;
 import academy.devdojo.springboot2.repository.DevDojoUserRepository;
+import academy.devdojo.springboot2.requests.AnimeReplaceRequestBody;
+import academy.devdojo.springboot2.requests.AnimeRequestBody;
+import academy.devdojo.springboot2.responses.AnimeBatchResponse;
 import academy.devdojo.springboot2.util.AnimeCreator;
+import academy.devdojo.springboot2.util.AnimeRequestBodyCreator;
+import academy.devdojo.springboot2.wrapper.CursorPage;
 import academy.devdojo.springboot2.wrapper.PageableResponse;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -23,6 +28,7 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -107,6 +113,19 @@ public class AnimeControllerTestIT {
                 .hasSize(1);
     }
 
+    @Test
+    @DisplayName("listAfter returns list of anime inside cursor page when successful")
+    void listAfter_ReturnsListOfAnimesInsideCursorPage_WhenSuccessful() {
+
+        CursorPage<Anime> animePage = testRestTemplateRoleUser.exchange("/animes/cursor?size=10", HttpMethod.GET, null,
+                new ParameterizedTypeReference<CursorPage<Anime>>() {
+                }).getBody();
+
+        Assertions.assertThat(animePage).isNotNull();
+        Assertions.assertThat(animePage.getContent()).isNotEmpty().hasSize(1);
+        Assertions.assertThat(animePage.getNext()).isNull();
+    }
+
     @Test
     @DisplayName("ListAll returns list of anime when successful")
     void list_ReturnListOfAnimes_WhenSuccessful() {
@@ -119,6 +138,18 @@ public class AnimeControllerTestIT {
         Assertions.assertThat(animePage).isNotEmpty().hasSize(1);
     }
 
+    @Test
+    @DisplayName("streamAll returns list of anime when successful")
+    void streamAll_ReturnListOfAnimes_WhenSuccessful() {
+
+        List<Anime> animes = testRestTemplateRoleUser.exchange("/animes/all/stream", HttpMethod.GET, null,
+                new ParameterizedTypeReference<List<Anime>>() {
+        }).getBody();
+
+        Assertions.assertThat(animes).isNotNull();
+        Assertions.assertThat(animes).isNotEmpty().hasSize(1);
+    }
+
     @Test
     @DisplayName("findById returns anime when successful")
     void findById_ReturnsAnime_WhenSuccessful(){
@@ -132,6 +163,22 @@ public class AnimeControllerTestIT {
         Assertions.assertThat(anime.getId()).isNotNull().isEqualTo(expectedId);
     }
 
+    @Test
+    @DisplayName("findById returns 304 when the ETag sent by the client is current")
+    void findById_Returns304_WhenETagIsCurrent(){
+        ResponseEntity<Anime> firstResponse = testRestTemplateRoleUser.getForEntity("/animes/{id}", Anime.class, 1L);
+        String eTag = firstResponse.getHeaders().getETag();
+
+        HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(eTag);
+        ResponseEntity<Anime> secondResponse = testRestTemplateRoleUser.exchange("/animes/{id}", HttpMethod.GET,
+                new HttpEntity<>(headers), Anime.class, 1L);
+
+        Assertions.assertThat(eTag).isNotNull();
+        Assertions.assertThat(secondResponse.getStatusCode()).isEqualTo(HttpStatus.NOT_MODIFIED);
+        Assertions.assertThat(secondResponse.getBody()).isNull();
+    }
+
     @Test
     @DisplayName("findById returns anime when fail")
     void findById_ReturnsAnime_WhenFail(){
@@ -181,6 +228,24 @@ public class AnimeControllerTestIT {
 
     }
 
+    @Test
+    @DisplayName("saveAll returns created animes and rejected items when successful")
+    void saveAll_ReturnsCreatedAnimesAndRejectedItems_WhenSuccessful(){
+        List<AnimeRequestBody> animeRequestBodies = List.of(AnimeRequestBodyCreator.createAnimeRequestBody(),
+                AnimeRequestBodyCreator.createAnimeRequestBody(), AnimeRequestBody.builder().name("").build());
+
+        ResponseEntity<AnimeBatchResponse> responseEntity = testRestTemplateRoleAdmin.postForEntity("/animes/batch",
+                animeRequestBodies, AnimeBatchResponse.class);
+
+        Assertions.assertThat(responseEntity.getStatusCode()).isEqualTo(HttpStatus.CREATED);
+        Assertions.assertThat(responseEntity.getBody()).isNotNull();
+        Assertions.assertThat(responseEntity.getBody().getCreated()).hasSize(2)
+                .allSatisfy(anime -> Assertions.assertThat(anime.getId()).isNotNull());
+        Assertions.assertThat(responseEntity.getBody().getErrors()).hasSize(1);
+        Assertions.assertThat(responseEntity.getBody().getErrors().get(0).getIndex()).isEqualTo(2);
+        Assertions.assertThat(animeRepository.count()).isEqualTo(3);
+    }
+
     @Test
     @DisplayName("replace updates anime when successful")
     void replace_UpdatesAnime_WhenSuccessful(){
@@ -196,6 +261,21 @@ public class AnimeControllerTestIT {
         Assertions.assertThat(animeResponseEntity.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
     }
 
+    @Test
+    @DisplayName("replace returns 409 when anime was changed since the informed version")
+    void replace_Returns409_WhenAnimeWasChanged(){
+        Anime savedAnime = animeRepository.save(AnimeCreator.createAnimeToBeSaved());
+        AnimeRequestBody animeRequestBody = AnimeRequestBody.builder()
+                .name("new name")
+                .version(savedAnime.getVersion() + 1)
+                .build();
+
+        ResponseEntity<Void> animeResponseEntity = testRestTemplateRoleUser.exchange("/animes/{id}",
+                HttpMethod.PUT, new HttpEntity<>(animeRequestBody), Void.class, savedAnime.getId());
+
+        Assertions.assertThat(animeResponseEntity.getStatusCode()).isEqualTo(HttpStatus.CONFLICT);
+    }
+
     @Test
     @DisplayName("delete removes anime when successful")
     void delete_RemovesAnime_WhenSuccessful(){
@@ -209,6 +289,38 @@ public class AnimeControllerTestIT {
         Assertions.assertThat(animeResponseEntity.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
     }
 
+    @Test
+    @DisplayName("deleteAll removes animes when successful")
+    void deleteAll_RemovesAnimes_WhenSuccessful() {
+        Anime first = animeRepository.save(AnimeCreator.createAnimeToBeSaved());
+        Anime second = animeRepository.save(AnimeCreator.createAnimeToBeSaved());
+
+        ResponseEntity<Void> animeResponseEntity = testRestTemplateRoleAdmin.exchange("/animes/admin/batch?ids={first},{second}",
+                HttpMethod.DELETE, null, Void.class, first.getId(), second.getId());
+
+        Assertions.assertThat(animeResponseEntity.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        Assertions.assertThat(animeRepository.findAllById(List.of(first.getId(), second.getId()))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("replaceAll updates animes when successful")
+    void replaceAll_UpdatesAnimes_WhenSuccessful() {
+        Anime savedAnime = animeRepository.save(AnimeCreator.createAnimeToBeSaved());
+        List<AnimeReplaceRequestBody> animeReplaceRequestBodies = List.of(AnimeReplaceRequestBody.builder()
+                .id(savedAnime.getId())
+                .name("new name")
+                .build());
+
+        ResponseEntity<Void> animeResponseEntity = testRestTemplateRoleUser.exchange("/animes/batch",
+                HttpMethod.PUT, new HttpEntity<>(animeReplaceRequestBodies), Void.class);
+
+        Assertions.assertThat(animeResponseEntity.getStatusCode()).isEqualTo(HttpStatus.NO_CONTENT);
+        Assertions.assertThat(animeRepository.findById(savedAnime.getId()))
+                .get()
+                .extracting(Anime::getName)
+                .isEqualTo("new name");
+    }
+
     @Test
     @DisplayName("delete returns 403 when user is not admin")
     void delete_Returns403_WhenUserIsNotAdmin() {
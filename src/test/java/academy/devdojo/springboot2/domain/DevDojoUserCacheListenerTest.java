@@ -0,0 +1,60 @@
+package academy.devdojo.springboot2.domain;
+
+import academy.devdojo.springboot2.config.CacheConfig;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+class DevDojoUserCacheListenerTest {
+
+    private Cache cache;
+
+    private DevDojoUserCacheListener listener;
+
+    @BeforeEach
+    void setUp() {
+        CacheManager cacheManager = new ConcurrentMapCacheManager(CacheConfig.DEV_DOJO_USERS);
+        cache = cacheManager.getCache(CacheConfig.DEV_DOJO_USERS);
+        listener = new DevDojoUserCacheListener(
+                new StaticListableBeanFactory(Map.of("cacheManager", cacheManager)).getBeanProvider(CacheManager.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("evict clears the user cache right away when there is no transaction")
+    void evict_ClearsCache_WhenThereIsNoTransaction() {
+        cache.put("devdojo", DevDojoUser.builder().username("devdojo").build());
+
+        listener.evict(DevDojoUser.builder().username("devdojo").build());
+
+        Assertions.assertThat(cache.get("devdojo")).isNull();
+    }
+
+    @Test
+    @DisplayName("evict clears again after commit a user cached while the transaction was open")
+    void evict_ClearsCacheAfterCommit_WhenUserIsCachedBeforeCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        listener.evict(DevDojoUser.builder().username("devdojo").build());
+        cache.put("devdojo", DevDojoUser.builder().username("devdojo").password("{bcrypt}old").build());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+
+        Assertions.assertThat(cache.get("devdojo")).isNull();
+    }
+}
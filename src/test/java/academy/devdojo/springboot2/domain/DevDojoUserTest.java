@@ -0,0 +1,49 @@
+package academy.devdojo.springboot2.domain;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.Collection;
+
+class DevDojoUserTest {
+
+    @Test
+    @DisplayName("getAuthorities returns every role when successful")
+    void getAuthorities_ReturnsEveryRole_WhenSuccessful() {
+        DevDojoUser admin = DevDojoUser.builder().authorities("ROLE_USER,ROLE_ADMIN").build();
+
+        Assertions.assertThat(admin.getAuthorities())
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_USER", "ROLE_ADMIN");
+    }
+
+    @Test
+    @DisplayName("getAuthorities shares the same authorities between users with the same roles")
+    void getAuthorities_SharesAuthorities_WhenUsersHaveSameRoles() {
+        Collection<? extends GrantedAuthority> first = DevDojoUser.builder().authorities("ROLE_USER").build().getAuthorities();
+        Collection<? extends GrantedAuthority> second = DevDojoUser.builder().authorities("ROLE_USER").build().getAuthorities();
+
+        Assertions.assertThat(first).isSameAs(second);
+    }
+
+    @Test
+    @DisplayName("getAuthorities returns an immutable collection")
+    void getAuthorities_ReturnsImmutableCollection() {
+        Collection<? extends GrantedAuthority> authorities = DevDojoUser.builder().authorities("ROLE_USER").build().getAuthorities();
+
+        Assertions.assertThatExceptionOfType(UnsupportedOperationException.class)
+                .isThrownBy(authorities::clear);
+    }
+
+    @Test
+    @DisplayName("toString does not include the password hash")
+    void toString_ExcludesPassword_WhenSuccessful() {
+        DevDojoUser devDojoUser = DevDojoUser.builder().username("devdojo").password("{bcrypt}hash").build();
+
+        Assertions.assertThat(devDojoUser.toString())
+                .contains("devdojo")
+                .doesNotContain("{bcrypt}hash");
+    }
+}
@@ -0,0 +1,91 @@
+package academy.devdojo.springboot2.filter;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private static final long LATENCY_TARGET = 100;
+
+    @Test
+    @DisplayName("tryAcquire rejects requests above the limit")
+    void tryAcquire_RejectsRequest_WhenLimitIsReached() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, LATENCY_TARGET, 0);
+
+        Assertions.assertThat(limiter.tryAcquire()).isTrue();
+        Assertions.assertThat(limiter.tryAcquire()).isTrue();
+        Assertions.assertThat(limiter.tryAcquire()).isFalse();
+        Assertions.assertThat(limiter.getInFlight()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("release grows the limit when busy requests finish under the latency target")
+    void release_IncreasesLimit_WhenLatencyIsUnderTarget() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, LATENCY_TARGET, 0);
+        limiter.tryAcquire();
+        limiter.tryAcquire();
+
+        limiter.release(0, LATENCY_TARGET / 2);
+
+        Assertions.assertThat(limiter.getLimit()).isEqualTo(3);
+        Assertions.assertThat(limiter.getInFlight()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("release shrinks the limit down to the minimum when requests started after each decrease are slow")
+    void release_DecreasesLimit_WhenLatencyIsOverTarget() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 15, 40, LATENCY_TARGET, 0);
+
+        limiter.tryAcquire();
+        limiter.release(0, 2 * LATENCY_TARGET);
+        Assertions.assertThat(limiter.getLimit()).isEqualTo(18);
+
+        limiter.tryAcquire();
+        limiter.release(2 * LATENCY_TARGET, 4 * LATENCY_TARGET);
+        limiter.tryAcquire();
+        limiter.release(4 * LATENCY_TARGET, 6 * LATENCY_TARGET);
+        Assertions.assertThat(limiter.getLimit()).isEqualTo(15);
+    }
+
+    @Test
+    @DisplayName("release shrinks the limit once for slow requests that were running together")
+    void release_DecreasesLimitOnce_WhenConcurrentRequestsAreSlow() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 1, 40, LATENCY_TARGET, 0);
+        for (int request = 0; request < 10; request++) {
+            limiter.tryAcquire();
+        }
+
+        for (int request = 0; request < 10; request++) {
+            limiter.release(request, 2 * LATENCY_TARGET + request);
+        }
+
+        Assertions.assertThat(limiter.getLimit()).isEqualTo(18);
+        Assertions.assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("release without latency frees the slot and keeps the limit")
+    void release_KeepsLimit_WhenLatencyIsNotASignal() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 20, LATENCY_TARGET, 0);
+        for (int request = 0; request < 10; request++) {
+            limiter.tryAcquire();
+        }
+
+        limiter.release();
+
+        Assertions.assertThat(limiter.getLimit()).isEqualTo(10);
+        Assertions.assertThat(limiter.getInFlight()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("release keeps the limit when an idle server answers quickly")
+    void release_KeepsLimit_WhenFewRequestsAreInFlight() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(10, 1, 20, LATENCY_TARGET, 0);
+
+        limiter.tryAcquire();
+        limiter.release(0, LATENCY_TARGET / 2);
+
+        Assertions.assertThat(limiter.getLimit()).isEqualTo(10);
+    }
+}
@@ -0,0 +1,136 @@
+package academy.devdojo.springboot2.filter;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.servlet.FilterChain;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+@ExtendWith(SpringExtension.class)
+class AnimeResponseCacheFilterTest {
+
+    private static final String BODY = "[" + "{\"id\":1,\"name\":\"Boku no Hero\"},".repeat(100) + "{}]";
+
+    AnimeResponseCache responseCache;
+
+    AnimeResponseCacheFilter filter;
+
+    AtomicInteger renders;
+
+    FilterChain controller;
+
+    @BeforeEach
+    void setUp() {
+        responseCache = new AnimeResponseCache(new ConcurrentMapCacheManager());
+        filter = new AnimeResponseCacheFilter(responseCache);
+        renders = new AtomicInteger();
+        controller = (request, response) -> {
+            renders.incrementAndGet();
+            HttpServletResponse httpServletResponse = (HttpServletResponse) response;
+            httpServletResponse.setContentType("application/json");
+            httpServletResponse.setHeader(HttpHeaders.ETAG, "\"abc\"");
+            httpServletResponse.getOutputStream().write(BODY.getBytes(StandardCharsets.UTF_8));
+        };
+    }
+
+    @Test
+    @DisplayName("doFilter renders the listing once when it is requested twice")
+    void doFilter_RendersOnce_WhenListingIsRequestedTwice() throws Exception {
+        MockHttpServletResponse first = get("/animes/all", null);
+        MockHttpServletResponse second = get("/animes/all", null);
+
+        Assertions.assertThat(renders.get()).isEqualTo(1);
+        Assertions.assertThat(second.getContentAsString()).isEqualTo(first.getContentAsString()).isEqualTo(BODY);
+        Assertions.assertThat(second.getHeader(HttpHeaders.ETAG)).isEqualTo("\"abc\"");
+    }
+
+    @Test
+    @DisplayName("doFilter serves the gzipped body when the client accepts gzip")
+    void doFilter_ServesGzippedBody_WhenClientAcceptsGzip() throws Exception {
+        get("/animes/all", null);
+        MockHttpServletResponse response = get("/animes/all", "gzip, deflate");
+
+        Assertions.assertThat(response.getHeader(HttpHeaders.CONTENT_ENCODING)).isEqualTo("gzip");
+        Assertions.assertThat(gunzip(response.getContentAsByteArray())).isEqualTo(BODY);
+    }
+
+    @Test
+    @DisplayName("doFilter renders the listing again when the cache was invalidated")
+    void doFilter_RendersAgain_WhenCacheWasInvalidated() throws Exception {
+        get("/animes/all", null);
+        responseCache.invalidate();
+        get("/animes/all", null);
+
+        Assertions.assertThat(renders.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("doFilter keeps one entry per query string")
+    void doFilter_KeepsOneEntryPerQueryString_WhenPagesAreRequested() throws Exception {
+        get("/animes", null, "page=0");
+        get("/animes", null, "page=1");
+        get("/animes", null, "page=0");
+
+        Assertions.assertThat(renders.get()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("doFilter answers 304 when If-None-Match lists the ETag, is weak or is *")
+    void doFilter_AnswersNotModified_WhenIfNoneMatchMatches() throws Exception {
+        get("/animes/all", null);
+
+        for (String ifNoneMatch : new String[]{"\"abc\"", "\"xyz\", \"abc\"", "W/\"abc\"", "*"}) {
+            MockHttpServletRequest request = new MockHttpServletRequest("GET", "/animes/all");
+            request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+            MockHttpServletResponse response = new MockHttpServletResponse();
+            filter.doFilter(request, response, controller);
+
+            Assertions.assertThat(response.getStatus()).as(ifNoneMatch).isEqualTo(HttpServletResponse.SC_NOT_MODIFIED);
+            Assertions.assertThat(response.getContentAsByteArray()).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("doFilter varies on Accept-Encoding on the first response and on cached ones")
+    void doFilter_VariesOnAcceptEncoding_WhenRenderedAndWhenCached() throws Exception {
+        MockHttpServletResponse first = get("/animes/all", null);
+        MockHttpServletResponse second = get("/animes/all", null);
+
+        Assertions.assertThat(first.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+        Assertions.assertThat(second.getHeader(HttpHeaders.VARY)).isEqualTo(HttpHeaders.ACCEPT_ENCODING);
+    }
+
+    private MockHttpServletResponse get(String uri, String acceptEncoding) throws Exception {
+        return get(uri, acceptEncoding, null);
+    }
+
+    private MockHttpServletResponse get(String uri, String acceptEncoding, String queryString) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        request.setQueryString(queryString);
+        if (acceptEncoding != null) {
+            request.addHeader(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, controller);
+        return response;
+    }
+
+    private String gunzip(byte[] body) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package academy.devdojo.springboot2.filter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.FilterChain;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class RateLimitFilterTest {
+
+    private static final long LATENCY_TARGET = TimeUnit.SECONDS.toNanos(1);
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AtomicLong clock;
+
+    private AdaptiveConcurrencyLimiter concurrencyLimiter;
+
+    private RateLimitFilter filter;
+
+    private AtomicInteger handled;
+
+    private FilterChain controller;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        clock = new AtomicLong();
+        concurrencyLimiter = new AdaptiveConcurrencyLimiter(10, 1, 10, LATENCY_TARGET, 0);
+        filter = new RateLimitFilter(Caffeine.newBuilder().build(), 1, 1, concurrencyLimiter,
+                meterRegistry, objectMapper, clock::get);
+        handled = new AtomicInteger();
+        controller = (request, response) -> handled.incrementAndGet();
+    }
+
+    @Test
+    @DisplayName("doFilter answers 429 with Retry-After and a JSON body when the principal exceeds its rate")
+    void doFilter_ReturnsTooManyRequests_WhenRateIsExceeded() throws Exception {
+        MockHttpServletResponse first = get("/animes/1", controller);
+        MockHttpServletResponse second = get("/animes/1", controller);
+
+        Assertions.assertThat(first.getStatus()).isEqualTo(HttpStatus.OK.value());
+        Assertions.assertThat(handled.get()).isEqualTo(1);
+        Assertions.assertThat(second.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        Assertions.assertThat(second.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("2");
+        Assertions.assertThat(second.getContentType()).isEqualTo(MediaType.APPLICATION_JSON_VALUE);
+        JsonNode body = objectMapper.readTree(second.getContentAsByteArray());
+        Assertions.assertThat(body.get("status").asInt()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        Assertions.assertThat(body.get("details").asText()).isEqualTo("Request rate limit exceeded");
+        Assertions.assertThat(rejected("/animes/{id}", "rate_limit")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("doFilter answers 429 when every concurrency slot is taken")
+    void doFilter_ReturnsTooManyRequests_WhenConcurrencyLimitIsReached() throws Exception {
+        for (int slot = 0; slot < concurrencyLimiter.getLimit(); slot++) {
+            concurrencyLimiter.tryAcquire();
+        }
+
+        MockHttpServletResponse response = get("/animes/search", controller);
+
+        Assertions.assertThat(handled.get()).isZero();
+        Assertions.assertThat(response.getStatus()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS.value());
+        Assertions.assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        Assertions.assertThat(rejected("/animes/search", "concurrency")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("doFilter releases the slot and shrinks the limit when a request is slow")
+    void doFilter_ReleasesSlotAndDecreasesLimit_WhenRequestIsSlow() throws Exception {
+        get("/animes/1", (request, response) -> clock.addAndGet(2 * LATENCY_TARGET));
+
+        Assertions.assertThat(concurrencyLimiter.getInFlight()).isZero();
+        Assertions.assertThat(concurrencyLimiter.getLimit()).isEqualTo(9);
+    }
+
+    @Test
+    @DisplayName("doFilter keeps the limit when a slow by design request is slow")
+    void doFilter_KeepsLimit_WhenStreamIsSlow() throws Exception {
+        get("/animes/all/stream", (request, response) -> clock.addAndGet(2 * LATENCY_TARGET));
+
+        Assertions.assertThat(concurrencyLimiter.getInFlight()).isZero();
+        Assertions.assertThat(concurrencyLimiter.getLimit()).isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("doFilter holds the slot of an async request until it completes")
+    void doFilter_ReleasesSlotOnComplete_WhenRequestIsAsync() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/animes/async/1");
+        request.setAsyncSupported(true);
+        filter.doFilter(request, new MockHttpServletResponse(), (req, res) -> req.startAsync());
+
+        Assertions.assertThat(concurrencyLimiter.getInFlight()).isEqualTo(1);
+
+        clock.addAndGet(2 * LATENCY_TARGET);
+        request.getAsyncContext().complete();
+
+        Assertions.assertThat(concurrencyLimiter.getInFlight()).isZero();
+        Assertions.assertThat(concurrencyLimiter.getLimit()).isEqualTo(10);
+    }
+
+    private MockHttpServletResponse get(String uri, FilterChain filterChain) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", uri);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, filterChain);
+        return response;
+    }
+
+    private double rejected(String route, String reason) {
+        Counter counter = meterRegistry.find("http.server.requests.rejected")
+                .tag("route", route)
+                .tag("reason", reason)
+                .counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
@@ -0,0 +1,47 @@
+package academy.devdojo.springboot2.filter;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import javax.servlet.ServletException;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicReference;
+
+class RequestIdFilterTest {
+
+    private final RequestIdFilter filter = new RequestIdFilter();
+
+    @Test
+    @DisplayName("doFilter keeps the request id sent by the client while the request is handled")
+    void doFilter_KeepsRequestId_WhenHeaderIsValid() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/animes");
+        request.addHeader(RequestIdFilter.REQUEST_ID_HEADER, "abc-123");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AtomicReference<String> requestIdInMdc = new AtomicReference<>();
+
+        filter.doFilter(request, response, (req, res) -> requestIdInMdc.set(MDC.get(RequestIdFilter.REQUEST_ID_MDC_KEY)));
+
+        Assertions.assertThat(requestIdInMdc.get()).isEqualTo("abc-123");
+        Assertions.assertThat(response.getHeader(RequestIdFilter.REQUEST_ID_HEADER)).isEqualTo("abc-123");
+        Assertions.assertThat(MDC.get(RequestIdFilter.REQUEST_ID_MDC_KEY)).isNull();
+    }
+
+    @Test
+    @DisplayName("doFilter generates a new request id when the header is malformed")
+    void doFilter_GeneratesRequestId_WhenHeaderIsMalformed() throws ServletException, IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/animes");
+        request.addHeader(RequestIdFilter.REQUEST_ID_HEADER, "forged\nline");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, (req, res) -> {
+        });
+
+        Assertions.assertThat(response.getHeader(RequestIdFilter.REQUEST_ID_HEADER))
+                .isNotEqualTo("forged\nline")
+                .matches("[0-9a-f]{2,32}");
+    }
+}
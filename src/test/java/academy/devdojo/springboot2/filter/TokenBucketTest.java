@@ -0,0 +1,44 @@
+package academy.devdojo.springboot2.filter;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+class TokenBucketTest {
+
+    private static final long ONE_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    @DisplayName("tryAcquire allows the burst and rejects the next request")
+    void tryAcquire_AllowsBurst_WhenBucketIsFull() {
+        TokenBucket tokenBucket = new TokenBucket(1, 3, 0);
+
+        Assertions.assertThat(tokenBucket.tryAcquire(0)).isZero();
+        Assertions.assertThat(tokenBucket.tryAcquire(0)).isZero();
+        Assertions.assertThat(tokenBucket.tryAcquire(0)).isZero();
+        Assertions.assertThat(tokenBucket.tryAcquire(0)).isEqualTo(ONE_SECOND);
+    }
+
+    @Test
+    @DisplayName("tryAcquire allows a new request once a token was refilled")
+    void tryAcquire_AllowsRequest_WhenTokenWasRefilled() {
+        TokenBucket tokenBucket = new TokenBucket(2, 1, 0);
+
+        Assertions.assertThat(tokenBucket.tryAcquire(0)).isZero();
+        Assertions.assertThat(tokenBucket.tryAcquire(ONE_SECOND / 4)).isEqualTo(ONE_SECOND / 4);
+        Assertions.assertThat(tokenBucket.tryAcquire(ONE_SECOND / 2)).isZero();
+    }
+
+    @Test
+    @DisplayName("tryAcquire does not accumulate more tokens than the burst while idle")
+    void tryAcquire_CapsTokensAtBurst_WhenIdle() {
+        TokenBucket tokenBucket = new TokenBucket(1, 2, 0);
+        long later = 60 * ONE_SECOND;
+
+        Assertions.assertThat(tokenBucket.tryAcquire(later)).isZero();
+        Assertions.assertThat(tokenBucket.tryAcquire(later)).isZero();
+        Assertions.assertThat(tokenBucket.tryAcquire(later)).isPositive();
+    }
+}
@@ -0,0 +1,73 @@
+package academy.devdojo.springboot2.metrics;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
+
+class QueryInspectorTest {
+
+    private static final String SELECT_BY_ID = "select anime0_.id from anime anime0_ where anime0_.id=?";
+
+    private final QueryInspector queryInspector = new QueryInspector(3, 2, Duration.ofMillis(500), 2,
+            Clock.fixed(Instant.EPOCH, ZoneOffset.UTC));
+
+    @Test
+    @DisplayName("record aggregates the request without flagging it when it is under every limit")
+    void record_AggregatesWithoutReport_WhenRequestIsUnderLimits() {
+        RequestQueries requestQueries = new RequestQueries();
+        requestQueries.record(SELECT_BY_ID, 2);
+
+        queryInspector.record("GET /animes/{id}", requestQueries, TimeUnit.MILLISECONDS.toNanos(10));
+
+        EndpointQueryStats stats = queryInspector.getStatsByEndpoint().get("GET /animes/{id}");
+        Assertions.assertThat(stats.getRequests()).isEqualTo(1);
+        Assertions.assertThat(stats.getStatements()).isEqualTo(1);
+        Assertions.assertThat(stats.getFlagged()).isZero();
+        Assertions.assertThat(queryInspector.getRecentReports()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("record flags a request that repeats the same statement shape")
+    void record_FlagsRepeatedStatements_WhenRequestRunsNPlusOneQueries() {
+        RequestQueries requestQueries = new RequestQueries();
+        for (int i = 0; i < 3; i++) {
+            requestQueries.record(SELECT_BY_ID, 1);
+        }
+
+        queryInspector.record("GET /animes", requestQueries, TimeUnit.MILLISECONDS.toNanos(10));
+
+        Assertions.assertThat(queryInspector.getRecentReports()).hasSize(1);
+        QueryReport report = queryInspector.getRecentReports().get(0);
+        Assertions.assertThat(report.getEndpoint()).isEqualTo("GET /animes");
+        Assertions.assertThat(report.getReasons()).containsExactly("repeated statements > 2");
+        Assertions.assertThat(report.getRepeatedStatements()).containsEntry(SELECT_BY_ID, 3);
+    }
+
+    @Test
+    @DisplayName("record flags a slow request and keeps only the most recent reports")
+    void record_KeepsMostRecentReports_WhenManyRequestsAreSlow() {
+        for (String endpoint : new String[]{"GET /animes/a", "GET /animes/b", "GET /animes/c"}) {
+            queryInspector.record(endpoint, new RequestQueries(), TimeUnit.SECONDS.toNanos(1));
+        }
+
+        Assertions.assertThat(queryInspector.getRecentReports())
+                .extracting(QueryReport::getEndpoint)
+                .containsExactly("GET /animes/c", "GET /animes/b");
+        Assertions.assertThat(queryInspector.getRecentReports().get(0).getReasons())
+                .containsExactly("duration > 500ms");
+    }
+
+    @Test
+    @DisplayName("shapeOf collapses IN lists of any length and whitespace into one shape")
+    void shapeOf_CollapsesParameterLists_WhenInListLengthsDiffer() {
+        Assertions.assertThat(RequestQueries.shapeOf("select * from anime where id in (?, ?,?)"))
+                .isEqualTo(RequestQueries.shapeOf("select *  from anime\n where id in (?, ?)"))
+                .isEqualTo("select * from anime where id in (?)");
+    }
+}
@@ -0,0 +1,58 @@
+package academy.devdojo.springboot2.metrics;
+
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import java.time.Clock;
+import java.time.Duration;
+
+class RequestQueryFilterTest {
+
+    private final QueryInspector queryInspector = new QueryInspector(20, 5, Duration.ofSeconds(1), 10, Clock.systemUTC());
+
+    private final RequestQueryFilter filter = new RequestQueryFilter(queryInspector, () -> 0);
+
+    @Test
+    @DisplayName("doFilter keys requests by method and route pattern")
+    void doFilter_KeysByMethodAndPattern_WhenHandlerMatched() throws Exception {
+        send("GET", "/animes/1", "/animes/{id}");
+        send("GET", "/animes/2", "/animes/{id}");
+
+        Assertions.assertThat(queryInspector.getStatsByEndpoint()).containsOnlyKeys("GET /animes/{id}");
+        Assertions.assertThat(queryInspector.getStatsByEndpoint().get("GET /animes/{id}").getRequests()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("doFilter keeps a bounded number of keys for unknown methods and unmatched paths")
+    void doFilter_BoundsKeys_WhenMethodsAndPathsAreArbitrary() throws Exception {
+        for (int request = 0; request < 100; request++) {
+            send("FOO" + request, "/animes/1", "/animes/{id}");
+            send("GET", "/unknown/" + request, null);
+        }
+
+        Assertions.assertThat(queryInspector.getStatsByEndpoint()).containsOnlyKeys("OTHER /animes/{id}", "UNMATCHED");
+    }
+
+    @Test
+    @DisplayName("doFilter does not count actuator requests")
+    void doFilter_SkipsActuator_WhenPathIsActuator() throws Exception {
+        send("GET", "/actuator/health", "/actuator/health");
+
+        Assertions.assertThat(queryInspector.getStatsByEndpoint()).isEmpty();
+    }
+
+    private void send(String method, String uri, String pattern) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, uri);
+        FilterChain controller = (req, res) -> {
+            if (pattern != null) {
+                req.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, pattern);
+            }
+        };
+        filter.doFilter(request, new MockHttpServletResponse(), controller);
+    }
+}
@@ -0,0 +1,74 @@
+package academy.devdojo.springboot2.metrics;
+
+import academy.devdojo.springboot2.config.CacheConfig;
+import academy.devdojo.springboot2.domain.DevDojoUser;
+import academy.devdojo.springboot2.repository.DevDojoUserRepository;
+import academy.devdojo.springboot2.service.DevDojoUserDetailsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.aop.AopAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = {DevDojoUserDetailsService.class, CacheConfig.class, TimedOperationsAspect.class,
+        TimedOperationsAspectCacheTest.MeterRegistryConfig.class})
+@ImportAutoConfiguration({CacheAutoConfiguration.class, AopAutoConfiguration.class})
+@DisplayName("Tests for Timed Operations Aspect ordering")
+class TimedOperationsAspectCacheTest {
+
+    @Autowired
+    DevDojoUserDetailsService devDojoUserDetailsService;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @MockBean
+    DevDojoUserRepository devDojoUserRepository;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.DEV_DOJO_USERS).clear();
+        meterRegistry.clear();
+        when(devDojoUserRepository.findByUsername("devdojo"))
+                .thenReturn(DevDojoUser.builder().username("devdojo").authorities("ROLE_USER").build());
+    }
+
+    @Test
+    @DisplayName("service calls answered by the cache are timed too")
+    void timeService_RecordsCacheHits_WhenServiceMethodIsCached() {
+        devDojoUserDetailsService.loadUserByUsername("devdojo");
+        devDojoUserDetailsService.loadUserByUsername("devdojo");
+
+        Timer timer = meterRegistry.find("devdojo.service")
+                .tag("operation", "DevDojoUserDetailsService.loadUserByUsername")
+                .timer();
+
+        Assertions.assertThat(timer).isNotNull();
+        Assertions.assertThat(timer.count()).isEqualTo(2);
+    }
+
+    @TestConfiguration
+    static class MeterRegistryConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
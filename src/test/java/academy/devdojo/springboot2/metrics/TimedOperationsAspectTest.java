@@ -0,0 +1,45 @@
+package academy.devdojo.springboot2.metrics;
+
+import academy.devdojo.springboot2.repository.DevDojoUserRepository;
+import academy.devdojo.springboot2.service.DevDojoUserDetailsService;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+class TimedOperationsAspectTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private DevDojoUserDetailsService userDetailsService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        AspectJProxyFactory proxyFactory = new AspectJProxyFactory(
+                new DevDojoUserDetailsService(Mockito.mock(DevDojoUserRepository.class)));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAspect(new TimedOperationsAspect(meterRegistry));
+        userDetailsService = proxyFactory.getProxy();
+    }
+
+    @Test
+    @DisplayName("service calls are timed with the operation and the exception thrown")
+    void timeService_RecordsTimer_WhenServiceMethodIsCalled() {
+        Assertions.assertThatExceptionOfType(UsernameNotFoundException.class)
+                .isThrownBy(() -> userDetailsService.loadUserByUsername("unknown"));
+
+        Timer timer = meterRegistry.find("devdojo.service")
+                .tag("operation", "DevDojoUserDetailsService.loadUserByUsername")
+                .tag("exception", "UsernameNotFoundException")
+                .timer();
+
+        Assertions.assertThat(timer).isNotNull();
+        Assertions.assertThat(timer.count()).isEqualTo(1);
+    }
+}
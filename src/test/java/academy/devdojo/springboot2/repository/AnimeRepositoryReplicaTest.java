@@ -0,0 +1,73 @@
+package academy.devdojo.springboot2.repository;
+
+import academy.devdojo.springboot2.config.ReadWriteRoutingDataSource;
+import academy.devdojo.springboot2.domain.Anime;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.List;
+
+/**
+ * The replica never receives the rows written to the primary, like a replica that is far behind
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DisplayName("Tests for Anime Repository with a lagging replica")
+class AnimeRepositoryReplicaTest {
+
+    @Autowired
+    private AnimeRepository animeRepository;
+
+    @Test
+    @DisplayName("findById misses an anime the replica does not have yet")
+    void findById_MissesAnime_WhenReplicaIsBehind() {
+        Anime animeSaved = this.animeRepository.save(Anime.builder().name("Replica Lag").build());
+
+        Assertions.assertThat(this.animeRepository.findById(animeSaved.getId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("findByIdOnPrimary finds an anime the replica does not have yet")
+    void findByIdOnPrimary_FindsAnime_WhenReplicaIsBehind() {
+        Anime animeSaved = this.animeRepository.save(Anime.builder().name("Primary By Id").build());
+
+        Assertions.assertThat(this.animeRepository.findByIdOnPrimary(animeSaved.getId()))
+                .get().extracting(Anime::getName).isEqualTo("Primary By Id");
+    }
+
+    @Test
+    @DisplayName("findByNameOnPrimary finds an anime the replica does not have yet")
+    void findByNameOnPrimary_FindsAnime_WhenReplicaIsBehind() {
+        Anime animeSaved = this.animeRepository.save(Anime.builder().name("Primary By Name").build());
+
+        Assertions.assertThat(this.animeRepository.findByNameOnPrimary("Primary By Name"))
+                .get().extracting(Anime::getId).isEqualTo(animeSaved.getId());
+    }
+
+    @TestConfiguration
+    static class ReplicaConfig {
+
+        @Bean
+        DataSource dataSource() {
+            ReadWriteRoutingDataSource routingDataSource = new ReadWriteRoutingDataSource(
+                    new DriverManagerDataSource("jdbc:h2:mem:replica-test-primary;DB_CLOSE_DELAY=-1", "sa", ""),
+                    List.of(new DriverManagerDataSource("jdbc:h2:mem:replica-test-replica;DB_CLOSE_DELAY=-1;"
+                            + "INIT=create table if not exists anime (id bigint auto_increment primary key, "
+                            + "name varchar(255), version bigint default 0 not null)", "sa", "")));
+            routingDataSource.afterPropertiesSet();
+            return new LazyConnectionDataSourceProxy(routingDataSource);
+        }
+    }
+}
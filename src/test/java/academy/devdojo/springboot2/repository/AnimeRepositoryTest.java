@@ -1,12 +1,19 @@
 package academy.devdojo.springboot2.repository;
 
 import academy.devdojo.springboot2.domain.Anime;
+import academy.devdojo.springboot2.responses.AnimeSummary;
 import org.assertj.core.api.Assertions;
+import org.hibernate.Session;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
 
+import javax.persistence.EntityManager;
 import javax.validation.ConstraintViolationException;
 import java.util.Optional;
 
@@ -19,6 +26,9 @@ class AnimeRepositoryTest {
     @Autowired
     private AnimeRepository animeRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     @DisplayName("Save creates anime when Successful")
     void save_PersistAnime_WhenSuccessful() {
@@ -87,4 +97,35 @@ class AnimeRepositoryTest {
                 .isThrownBy(() -> this.animeRepository.save(new Anime()))
                 .withMessageContaining("The anime name cannot be empty");
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("Find All Projected By returns summaries without managing the entities when Successful")
+    void findAllProjectedBy_ReturnsPageOfSummaries_WhenSuccessful(){
+        Anime animeSaved = this.animeRepository.save(createAnimeToBeSaved());
+        this.entityManager.flush();
+        this.entityManager.clear();
+
+        Page<AnimeSummary> animePage = this.animeRepository.findAllProjectedBy(PageRequest.of(0, 10, Sort.by("name")));
+
+        Assertions.assertThat(animePage.getTotalElements()).isEqualTo(1);
+        Assertions.assertThat(animePage.getContent().get(0).getId()).isEqualTo(animeSaved.getId());
+        Assertions.assertThat(animePage.getContent().get(0).getName()).isEqualTo(animeSaved.getName());
+        Assertions.assertThat(this.entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("Find Slice Projected By returns summaries and whether there is a next slice when Successful")
+    void findSliceProjectedBy_ReturnsSliceOfSummaries_WhenSuccessful(){
+        Anime animeSaved = this.animeRepository.save(createAnimeToBeSaved());
+        this.animeRepository.save(createAnimeToBeSaved());
+        this.entityManager.flush();
+        this.entityManager.clear();
+
+        Slice<AnimeSummary> animeSlice = this.animeRepository.findSliceProjectedBy(PageRequest.of(0, 1, Sort.by("id")));
+
+        Assertions.assertThat(animeSlice.getContent()).hasSize(1);
+        Assertions.assertThat(animeSlice.getContent().get(0).getId()).isEqualTo(animeSaved.getId());
+        Assertions.assertThat(animeSlice.hasNext()).isTrue();
+        Assertions.assertThat(this.entityManager.unwrap(Session.class).getStatistics().getEntityCount()).isZero();
+    }
+}
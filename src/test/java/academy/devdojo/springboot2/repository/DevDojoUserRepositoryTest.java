@@ -0,0 +1,39 @@
+package academy.devdojo.springboot2.repository;
+
+import academy.devdojo.springboot2.config.CacheConfig;
+import academy.devdojo.springboot2.domain.DevDojoUser;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+
+@DataJpaTest
+@Import(CacheConfig.class)
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+@DisplayName("Tests for DevDojo User Repository")
+class DevDojoUserRepositoryTest {
+
+    @Autowired
+    private DevDojoUserRepository devDojoUserRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Test
+    @DisplayName("save empties the user cache when a user is saved")
+    void save_EmptiesUserCache_WhenUserIsSaved() {
+        Cache cache = cacheManager.getCache(CacheConfig.DEV_DOJO_USERS);
+        cache.put("devdojo", DevDojoUser.builder().username("devdojo").build());
+
+        devDojoUserRepository.saveAndFlush(DevDojoUser.builder().name("DevDojo Academy").username("devdojo")
+                .password("{noop}academy").authorities("ROLE_USER").build());
+
+        Assertions.assertThat(cache.get("devdojo")).isNull();
+    }
+}
@@ -0,0 +1,156 @@
+package academy.devdojo.springboot2.search;
+
+import academy.devdojo.springboot2.domain.Anime;
+import academy.devdojo.springboot2.repository.AnimeRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+import javax.persistence.EntityManager;
+import java.util.stream.Stream;
+
+import static org.mockito.Mockito.when;
+
+@ExtendWith(SpringExtension.class)
+@DisplayName("Tests for Anime Search Index")
+class AnimeSearchIndexTest {
+
+    @InjectMocks
+    AnimeSearchIndex animeSearchIndex;
+
+    @Mock
+    AnimeRepository animeRepository;
+
+    @Mock
+    EntityManager entityManager;
+
+    @BeforeEach
+    void setUp() {
+        when(animeRepository.streamAll()).thenAnswer(invocation -> Stream.of(
+                Anime.builder().id(1L).name("Naruto").build(),
+                Anime.builder().id(2L).name("Naruto Shippuden").build(),
+                Anime.builder().id(3L).name("Boruto: Naruto Next Generations").build(),
+                Anime.builder().id(4L).name("Pokémon").build(),
+                Anime.builder().id(5L).name("進撃の巨人").build(),
+                Anime.builder().id(6L).name("Ван-Пис").build()));
+        animeSearchIndex.rebuild();
+    }
+
+    @Test
+    @DisplayName("search ranks exact matches before prefixes and prefixes before other matches")
+    void search_RanksExactThenPrefixThenContains_WhenSuccessful() {
+        Page<Anime> animePage = animeSearchIndex.search("naruto", PageRequest.of(0, 10));
+
+        Assertions.assertThat(animePage.getTotalElements()).isEqualTo(3);
+        Assertions.assertThat(animePage.getContent()).extracting(Anime::getId).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("search matches prefixes ignoring case and accents")
+    void search_MatchesPrefixIgnoringCaseAndAccents_WhenSuccessful() {
+        Page<Anime> animePage = animeSearchIndex.search("POKE", PageRequest.of(0, 10));
+
+        Assertions.assertThat(animePage.getContent()).extracting(Anime::getId).containsExactly(4L);
+    }
+
+    @Test
+    @DisplayName("search tolerates typos")
+    void search_ToleratesTypos_WhenSuccessful() {
+        Page<Anime> animePage = animeSearchIndex.search("narutp", PageRequest.of(0, 10));
+
+        Assertions.assertThat(animePage.getContent()).extracting(Anime::getId).contains(1L);
+    }
+
+    @Test
+    @DisplayName("search returns the requested page")
+    void search_ReturnsRequestedPage_WhenSuccessful() {
+        Page<Anime> animePage = animeSearchIndex.search("naruto", PageRequest.of(1, 2));
+
+        Assertions.assertThat(animePage.getTotalElements()).isEqualTo(3);
+        Assertions.assertThat(animePage.getContent()).extracting(Anime::getId).containsExactly(3L);
+    }
+
+    @Test
+    @DisplayName("search reflects renamed and removed animes")
+    void search_ReflectsWrites_WhenSuccessful() {
+        animeSearchIndex.index(1L, "Hajime no Ippo");
+        animeSearchIndex.remove(2L);
+
+        Assertions.assertThat(animeSearchIndex.search("naruto", PageRequest.of(0, 10)).getContent())
+                .extracting(Anime::getId).containsExactly(3L);
+        Assertions.assertThat(animeSearchIndex.search("ippo", PageRequest.of(0, 10)).getContent())
+                .extracting(Anime::getId).containsExactly(1L);
+    }
+
+    @Test
+    @DisplayName("suggest returns names starting with the prefix in alphabetical order")
+    void suggest_ReturnsNamesStartingWithPrefix_WhenSuccessful() {
+        Assertions.assertThat(animeSearchIndex.suggest("Nar", 10)).containsExactly("Naruto", "Naruto Shippuden");
+        Assertions.assertThat(animeSearchIndex.suggest("nar", 1)).containsExactly("Naruto");
+        Assertions.assertThat(animeSearchIndex.suggest("poké", 10)).containsExactly("Pokémon");
+    }
+
+    @Test
+    @DisplayName("suggest reflects renamed and removed animes")
+    void suggest_ReflectsWrites_WhenSuccessful() {
+        animeSearchIndex.index(1L, "Hajime no Ippo");
+        animeSearchIndex.remove(2L);
+
+        Assertions.assertThat(animeSearchIndex.suggest("nar", 10)).isEmpty();
+        Assertions.assertThat(animeSearchIndex.suggest("haj", 10)).containsExactly("Hajime no Ippo");
+    }
+
+    @Test
+    @DisplayName("search finds titles written in Japanese and in Cyrillic")
+    void search_FindsNonLatinTitles_WhenSuccessful() {
+        Assertions.assertThat(animeSearchIndex.search("進撃の巨人", PageRequest.of(0, 10)).getContent())
+                .extracting(Anime::getId).containsExactly(5L);
+        Assertions.assertThat(animeSearchIndex.search("進撃", PageRequest.of(0, 10)).getContent())
+                .extracting(Anime::getId).containsExactly(5L);
+        Assertions.assertThat(animeSearchIndex.search("ван пис", PageRequest.of(0, 10)).getContent())
+                .extracting(Anime::getId).containsExactly(6L);
+        Assertions.assertThat(animeSearchIndex.search("ВАН", PageRequest.of(0, 10)).getContent())
+                .extracting(Anime::getId).containsExactly(6L);
+    }
+
+    @Test
+    @DisplayName("suggest completes titles written in Japanese and in Cyrillic")
+    void suggest_CompletesNonLatinTitles_WhenSuccessful() {
+        Assertions.assertThat(animeSearchIndex.suggest("進撃", 10)).containsExactly("進撃の巨人");
+        Assertions.assertThat(animeSearchIndex.suggest("ва", 10)).containsExactly("Ван-Пис");
+    }
+
+    @Test
+    @DisplayName("search ranks and counts every match when the query only has grams shared by most titles")
+    void search_RanksAndCountsMatches_WhenQueryGramsAreCommon() {
+        for (long id = 100; id < 2100; id++) {
+            animeSearchIndex.index(id, "Naruto Filler " + id);
+        }
+
+        Page<Anime> animePage = animeSearchIndex.search("naruto", PageRequest.of(0, 3));
+
+        Assertions.assertThat(animePage.getTotalElements()).isEqualTo(2003);
+        Assertions.assertThat(animePage.getContent()).extracting(Anime::getId).containsExactly(1L, 2L, 100L);
+    }
+
+    @Test
+    @DisplayName("search counts titles sharing only common grams when the query also has rare grams")
+    void search_CountsTitlesSharingOnlyCommonGrams_WhenQueryMixesCommonAndRareGrams() {
+        for (long id = 100; id < 2100; id++) {
+            animeSearchIndex.index(id, "Naruto Filler " + id);
+        }
+        animeSearchIndex.index(3000L, "Naruto ZQ");
+
+        Page<Anime> animePage = animeSearchIndex.search("naruto zq", PageRequest.of(0, 3));
+
+        Assertions.assertThat(animePage.getTotalElements()).isEqualTo(2004);
+        Assertions.assertThat(animePage.getContent()).extracting(Anime::getId).containsExactly(3000L, 1L, 2L);
+    }
+}
@@ -0,0 +1,65 @@
+package academy.devdojo.springboot2.service;
+
+import academy.devdojo.springboot2.config.CacheConfig;
+import academy.devdojo.springboot2.domain.Anime;
+import academy.devdojo.springboot2.util.AnimeCreator;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class AnimeLookupCacheTest {
+
+    private AnimeLookupCache lookupCache;
+
+    @BeforeEach
+    void setUp() {
+        lookupCache = new AnimeLookupCache(new ConcurrentMapCacheManager(CacheConfig.ANIME_BY_ID, CacheConfig.ANIME_BY_NAME));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("putById stores the anime when nothing was evicted since it was loaded")
+    void putById_StoresAnime_WhenNothingWasEvicted() {
+        Anime anime = AnimeCreator.createValidAnime();
+
+        lookupCache.putById(1L, lookupCache.generation(), anime);
+
+        Assertions.assertThat(lookupCache.getById(1L)).isEqualTo(anime);
+    }
+
+    @Test
+    @DisplayName("putById skips an anime loaded before an eviction")
+    void putById_SkipsAnime_WhenEvictedAfterLoading() {
+        long loadedAt = lookupCache.generation();
+
+        lookupCache.evict(1L);
+        lookupCache.putById(1L, loadedAt, AnimeCreator.createValidAnime());
+
+        Assertions.assertThat(lookupCache.getById(1L)).isNull();
+    }
+
+    @Test
+    @DisplayName("putByName skips an anime loaded while the evicting transaction was still open")
+    void putByName_SkipsAnime_WhenLoadedBeforeCommit() {
+        Anime anime = AnimeCreator.createValidAnime();
+        TransactionSynchronizationManager.initSynchronization();
+
+        lookupCache.evict(anime.getId());
+        long loadedAt = lookupCache.generation();
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        lookupCache.putByName(anime.getName(), loadedAt, anime);
+
+        Assertions.assertThat(lookupCache.getByName(anime.getName())).isNull();
+    }
+}
@@ -0,0 +1,145 @@
+package academy.devdojo.springboot2.service;
+
+import academy.devdojo.springboot2.config.CacheConfig;
+import academy.devdojo.springboot2.domain.Anime;
+import academy.devdojo.springboot2.exception.BadRequestException;
+import academy.devdojo.springboot2.filter.AnimeResponseCache;
+import academy.devdojo.springboot2.repository.AnimeBatchRepository;
+import academy.devdojo.springboot2.repository.AnimeRepository;
+import academy.devdojo.springboot2.search.AnimeSearchIndex;
+import academy.devdojo.springboot2.util.AnimeCreator;
+import academy.devdojo.springboot2.util.AnimeRequestBodyCreator;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+
+import javax.persistence.EntityManager;
+import javax.validation.Validator;
+import java.util.Optional;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = {AnimeService.class, AnimeLookupCache.class, AnimeNegativeLookupCache.class, CacheConfig.class})
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+@DisplayName("Tests for Anime Service caching")
+class AnimeServiceCacheTest {
+
+    @Autowired
+    AnimeService animeService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @MockBean
+    AnimeRepository animeRepository;
+
+    @MockBean
+    AnimeBatchRepository animeBatchRepository;
+
+    @MockBean
+    EntityManager entityManager;
+
+    @MockBean
+    AnimeSearchIndex searchIndex;
+
+    @MockBean
+    AnimeResponseCache responseCache;
+
+    @MockBean
+    Validator validator;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCacheNames().forEach(cacheName -> cacheManager.getCache(cacheName).clear());
+        when(animeRepository.findByIdOnPrimary(anyLong())).thenReturn(Optional.of(AnimeCreator.createValidAnime()));
+        when(animeRepository.findByNameOnPrimary(any())).thenReturn(Optional.of(AnimeCreator.createValidAnime()));
+        when(animeRepository.save(any(Anime.class))).thenReturn(AnimeCreator.createValidAnime());
+    }
+
+    @Test
+    @DisplayName("findByIdOrThrowBadRequestException hits the database once when called twice")
+    void findByIdOrThrowBadRequestException_HitsDatabaseOnce_WhenCalledTwice() {
+        animeService.findByIdOrThrowBadRequestException(1L);
+        animeService.findByIdOrThrowBadRequestException(1L);
+
+        verify(animeRepository, times(1)).findByIdOnPrimary(1L);
+    }
+
+    @Test
+    @DisplayName("findByNameOrThrowBadRequestException hits the database once when called twice")
+    void findByNameOrThrowBadRequestException_HitsDatabaseOnce_WhenCalledTwice() {
+        animeService.findByNameOrThrowBadRequestException(AnimeRequestBodyCreator.createAnimeRequestBody());
+        animeService.findByNameOrThrowBadRequestException(AnimeRequestBodyCreator.createAnimeRequestBody());
+
+        verify(animeRepository, times(1)).findByNameOnPrimary(AnimeRequestBodyCreator.createAnimeRequestBody().getName());
+    }
+
+    @Test
+    @DisplayName("delete evicts the cached anime when successful")
+    void delete_EvictsCachedAnime_WhenSuccessful() {
+        animeService.findByIdOrThrowBadRequestException(2L);
+        animeService.delete(2L);
+        animeService.findByIdOrThrowBadRequestException(2L);
+
+        verify(animeRepository, times(2)).findByIdOnPrimary(2L);
+    }
+
+    @Test
+    @DisplayName("findByIdOrThrowBadRequestException does not cache the anime it loaded when it is replaced meanwhile")
+    void findByIdOrThrowBadRequestException_DoesNotCacheStaleAnime_WhenAnimeIsReplacedWhileLoading() {
+        when(animeRepository.updateNameById(anyLong(), any())).thenReturn(1);
+        when(animeRepository.findByIdOnPrimary(4L))
+                .thenAnswer(invocation -> {
+                    animeService.replace(4L, AnimeRequestBodyCreator.createAnimeRequestBody());
+                    return Optional.of(AnimeCreator.createValidAnime());
+                })
+                .thenReturn(Optional.of(AnimeCreator.createValidUpdateAnime()));
+
+        animeService.findByIdOrThrowBadRequestException(4L);
+        Anime anime = animeService.findByIdOrThrowBadRequestException(4L);
+
+        Assertions.assertThat(anime.getName()).isEqualTo(AnimeCreator.createValidUpdateAnime().getName());
+        verify(animeRepository, times(2)).findByIdOnPrimary(4L);
+    }
+
+    @Test
+    @DisplayName("findByIdOrThrowBadRequestException skips the database when the id is known to be missing")
+    void findByIdOrThrowBadRequestException_SkipsDatabase_WhenIdIsKnownToBeMissing() {
+        when(animeRepository.findByIdOnPrimary(3L)).thenReturn(Optional.empty());
+
+        Assertions.assertThatExceptionOfType(BadRequestException.class)
+                .isThrownBy(() -> animeService.findByIdOrThrowBadRequestException(3L));
+        Assertions.assertThatExceptionOfType(BadRequestException.class)
+                .isThrownBy(() -> animeService.findByIdOrThrowBadRequestException(3L));
+
+        verify(animeRepository, times(1)).findByIdOnPrimary(3L);
+    }
+
+    @Test
+    @DisplayName("save forgets the missing name when successful")
+    void save_ForgetsMissingName_WhenSuccessful() {
+        String name = AnimeRequestBodyCreator.createAnimeRequestBody().getName();
+        when(animeRepository.findByNameOnPrimary(name)).thenReturn(Optional.empty());
+
+        Assertions.assertThatExceptionOfType(BadRequestException.class)
+                .isThrownBy(() -> animeService.findByNameOrThrowBadRequestException(AnimeRequestBodyCreator.createAnimeRequestBody()));
+
+        animeService.save(AnimeRequestBodyCreator.createAnimeRequestBody());
+        when(animeRepository.findByNameOnPrimary(name)).thenReturn(Optional.of(AnimeCreator.createValidAnime()));
+
+        Assertions.assertThat(animeService.findByNameOrThrowBadRequestException(AnimeRequestBodyCreator.createAnimeRequestBody()))
+                .isNotNull();
+        verify(animeRepository, times(2)).findByNameOnPrimary(name);
+    }
+}
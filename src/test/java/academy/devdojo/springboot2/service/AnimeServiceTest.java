@@ -2,10 +2,20 @@ package academy.devdojo.springboot2.service;
 
 import academy.devdojo.springboot2.domain.Anime;
 import academy.devdojo.springboot2.exception.BadRequestException;
+import academy.devdojo.springboot2.exception.ConflictException;
+import academy.devdojo.springboot2.filter.AnimeResponseCache;
+import academy.devdojo.springboot2.repository.AnimeBatchRepository;
 import academy.devdojo.springboot2.repository.AnimeRepository;
+import academy.devdojo.springboot2.requests.AnimeReplaceRequestBody;
 import academy.devdojo.springboot2.requests.AnimeRequestBody;
+import academy.devdojo.springboot2.responses.AnimeBatchResponse;
+import academy.devdojo.springboot2.responses.AnimeSummary;
+import academy.devdojo.springboot2.search.AnimeSearchIndex;
 import academy.devdojo.springboot2.util.AnimeCreator;
 import academy.devdojo.springboot2.util.AnimeRequestBodyCreator;
+import academy.devdojo.springboot2.wrapper.CompactPage;
+import academy.devdojo.springboot2.wrapper.CompactSlice;
+import academy.devdojo.springboot2.wrapper.CursorPage;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -13,11 +23,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 
+import javax.persistence.EntityManager;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -35,16 +50,47 @@ class AnimeServiceTest {
     @Mock
     AnimeRepository animeRepository;
 
+    @Mock
+    AnimeBatchRepository animeBatchRepository;
+
+    @Mock
+    EntityManager entityManager;
+
+    @Mock
+    AnimeLookupCache lookupCache;
+
+    @Mock
+    AnimeNegativeLookupCache negativeLookupCache;
+
+    @Mock
+    AnimeSearchIndex searchIndex;
+
+    @Mock
+    AnimeResponseCache responseCache;
+
+    @Mock
+    Validator validator;
+
     @BeforeEach
     void setUp() {
         List<Anime> animeList = List.of(AnimeCreator.createValidAnime());
-        PageImpl<Anime> animePage = new PageImpl<>(animeList);
+        PageImpl<AnimeSummary> animePage = new PageImpl<>(List.of(AnimeCreator.createValidAnimeSummary()));
 
-        when(animeRepository.findAll(any(PageRequest.class))).thenReturn(animePage);
+        when(animeRepository.findAllProjectedBy(any(PageRequest.class))).thenReturn(animePage);
+        when(animeRepository.findSliceProjectedBy(any(PageRequest.class)))
+                .thenAnswer(invocation -> new SliceImpl<>(animePage.getContent(), invocation.getArgument(0), true));
         when(animeRepository.findAll()).thenReturn(animeList);
-        when(animeRepository.findById(anyLong())).thenReturn(Optional.of(AnimeCreator.createValidAnime()));
-        when(animeRepository.findByName(any())).thenReturn(Optional.of(AnimeCreator.createValidAnime()));
+        when(animeRepository.streamAll()).thenAnswer(invocation -> animeList.stream());
+        when(animeRepository.findByIdGreaterThan(anyLong(), any(Pageable.class)))
+                .thenAnswer(invocation -> new SliceImpl<>(animeList, invocation.getArgument(1), true));
+        when(animeRepository.findByIdOnPrimary(anyLong())).thenReturn(Optional.of(AnimeCreator.createValidAnime()));
+        when(animeRepository.findByNameOnPrimary(any())).thenReturn(Optional.of(AnimeCreator.createValidAnime()));
         when(animeRepository.save(any(Anime.class))).thenReturn(AnimeCreator.createValidAnime());
+        when(animeRepository.updateNameById(anyLong(), any())).thenReturn(1);
+        when(animeRepository.updateNameByIdAndVersion(anyLong(), any(), anyLong())).thenReturn(1);
+        when(animeBatchRepository.insertAll(any())).thenReturn(animeList);
+        when(animeBatchRepository.updateNames(any())).thenReturn(new int[]{1});
+        when(animeRepository.deleteByIdIn(any())).thenAnswer(invocation -> invocation.<Collection<Long>>getArgument(0).size());
         doNothing().when(animeRepository).deleteById(anyLong());
     }
 
@@ -54,11 +100,25 @@ class AnimeServiceTest {
 
         String expectedName = AnimeCreator.createValidAnime().getName();
 
-        Page<Anime> animePage = animeService.listAll(PageRequest.of(1,1));
+        CompactPage<AnimeSummary> animePage = animeService.listAll(PageRequest.of(1,1));
 
         Assertions.assertThat(animePage).isNotNull();
-        Assertions.assertThat(animePage.toList()).isNotEmpty().hasSize(1);
-        Assertions.assertThat(animePage.toList().get(0).getName()).isEqualTo(expectedName);
+        Assertions.assertThat(animePage.getContent()).isNotEmpty().hasSize(1);
+        Assertions.assertThat(animePage.getContent().get(0).getName()).isEqualTo(expectedName);
+    }
+
+    @Test
+    @DisplayName("listAllWithoutCount returns summaries inside a slice object when successful")
+    void listAllWithoutCount_ReturnsSummariesInsideSliceObject_WhenSuccessful() {
+
+        String expectedName = AnimeCreator.createValidAnime().getName();
+
+        CompactSlice<AnimeSummary> animeSlice = animeService.listAllWithoutCount(PageRequest.of(0, 1));
+
+        Assertions.assertThat(animeSlice).isNotNull();
+        Assertions.assertThat(animeSlice.getContent()).isNotEmpty().hasSize(1);
+        Assertions.assertThat(animeSlice.getContent().get(0).getName()).isEqualTo(expectedName);
+        Assertions.assertThat(animeSlice.isHasNext()).isTrue();
     }
 
     @Test
@@ -74,6 +134,45 @@ class AnimeServiceTest {
         Assertions.assertThat(animePage.get(0).getName()).isEqualTo(expectedName);
     }
 
+    @Test
+    @DisplayName("streamAllNonPageable hands every anime to the consumer when successful")
+    void streamAllNonPageable_ConsumesEveryAnime_WhenSuccessful() {
+
+        String expectedName = AnimeCreator.createValidAnime().getName();
+
+        List<Anime> animes = new ArrayList<>();
+        animeService.streamAllNonPageable(animes::add);
+
+        Assertions.assertThat(animes).isNotEmpty().hasSize(1);
+        Assertions.assertThat(animes.get(0).getName()).isEqualTo(expectedName);
+    }
+
+    @Test
+    @DisplayName("listAfter returns animes and the next cursor when successful")
+    void listAfter_ReturnsAnimesAndNextCursor_WhenSuccessful() {
+
+        String expectedName = AnimeCreator.createValidAnime().getName();
+
+        CursorPage<Anime> firstPage = animeService.listAfter(null, 1);
+
+        Assertions.assertThat(firstPage).isNotNull();
+        Assertions.assertThat(firstPage.getContent()).isNotEmpty().hasSize(1);
+        Assertions.assertThat(firstPage.getContent().get(0).getName()).isEqualTo(expectedName);
+        Assertions.assertThat(firstPage.getNext()).isNotNull();
+
+        Assertions.assertThatCode(() -> animeService.listAfter(firstPage.getNext(), 1))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("listAfter throws BadRequestException when cursor is invalid")
+    void listAfter_ThrowsBadRequestException_WhenCursorIsInvalid() {
+
+        Assertions.assertThatExceptionOfType(BadRequestException.class)
+                .isThrownBy(() -> animeService.listAfter("not a cursor", 1))
+                .withMessageContaining("Invalid cursor");
+    }
+
     @Test
     @DisplayName("findByIdOrThrowBadRequestException returns anime when successful")
     void findByIdOrThrowBadRequestException_ReturnsAnime_WhenSuccessful(){
@@ -133,6 +232,22 @@ class AnimeServiceTest {
 
     }
 
+    @Test
+    @DisplayName("saveAll returns created animes and rejected items when successful")
+    void saveAll_ReturnsCreatedAnimesAndRejectedItems_WhenSuccessful() {
+
+        List<AnimeRequestBody> animeRequestBodies = new ArrayList<>();
+        animeRequestBodies.add(AnimeRequestBodyCreator.createAnimeRequestBody());
+        animeRequestBodies.add(null);
+
+        AnimeBatchResponse response = animeService.saveAll(animeRequestBodies);
+
+        Assertions.assertThat(response).isNotNull();
+        Assertions.assertThat(response.getCreated()).isNotEmpty().hasSize(1);
+        Assertions.assertThat(response.getErrors()).isNotEmpty().hasSize(1);
+        Assertions.assertThat(response.getErrors().get(0).getIndex()).isEqualTo(1);
+    }
+
     @Test
     @DisplayName("replace updates anime when successful")
     void replace_UpdatesAnime_WhenSuccessful(){
@@ -142,6 +257,28 @@ class AnimeServiceTest {
 
     }
 
+    @Test
+    @DisplayName("replace throws BadRequestException when anime is not found")
+    void replace_ThrowsBadRequestException_WhenAnimeIsNotFound(){
+        when(animeRepository.updateNameById(anyLong(), any())).thenReturn(0);
+
+        Assertions.assertThatExceptionOfType(BadRequestException.class)
+                .isThrownBy(() -> animeService.replace(1L, AnimeRequestBodyCreator.createAnimeRequestBody()))
+                .withMessageContaining("Anime not Found");
+    }
+
+    @Test
+    @DisplayName("replace throws ConflictException when anime was changed since the informed version")
+    void replace_ThrowsConflictException_WhenAnimeWasChanged(){
+        when(animeRepository.updateNameByIdAndVersion(anyLong(), any(), anyLong())).thenReturn(0);
+        when(animeRepository.existsById(anyLong())).thenReturn(true);
+        AnimeRequestBody animeRequestBody = AnimeRequestBodyCreator.createAnimeRequestBody();
+        animeRequestBody.setVersion(0L);
+
+        Assertions.assertThatExceptionOfType(ConflictException.class)
+                .isThrownBy(() -> animeService.replace(1L, animeRequestBody));
+    }
+
     @Test
     @DisplayName("delete removes anime when successful")
     void delete_RemovesAnime_WhenSuccessful(){
@@ -149,4 +286,48 @@ class AnimeServiceTest {
         Assertions.assertThatCode(() -> animeService.delete(1L))
                 .doesNotThrowAnyException();
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("deleteAll removes animes when successful")
+    void deleteAll_RemovesAnimes_WhenSuccessful(){
+
+        Assertions.assertThatCode(() -> animeService.deleteAll(List.of(1L, 2L, 2L)))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("deleteAll throws BadRequestException when any anime is not found")
+    void deleteAll_ThrowsBadRequestException_WhenAnyAnimeIsNotFound(){
+        when(animeRepository.deleteByIdIn(any())).thenReturn(1);
+
+        Assertions.assertThatExceptionOfType(BadRequestException.class)
+                .isThrownBy(() -> animeService.deleteAll(List.of(1L, 2L)))
+                .withMessageContaining("Anime not Found");
+    }
+
+    @Test
+    @DisplayName("replaceAll updates animes when successful")
+    void replaceAll_UpdatesAnimes_WhenSuccessful(){
+        List<AnimeReplaceRequestBody> animeReplaceRequestBodies = List.of(AnimeReplaceRequestBody.builder()
+                .id(1L)
+                .name(AnimeCreator.createValidUpdateAnime().getName())
+                .build());
+
+        Assertions.assertThatCode(() -> animeService.replaceAll(animeReplaceRequestBodies))
+                .doesNotThrowAnyException();
+    }
+
+    @Test
+    @DisplayName("replaceAll throws BadRequestException when any anime is not found")
+    void replaceAll_ThrowsBadRequestException_WhenAnyAnimeIsNotFound(){
+        when(animeBatchRepository.updateNames(any())).thenReturn(new int[]{0});
+        List<AnimeReplaceRequestBody> animeReplaceRequestBodies = List.of(AnimeReplaceRequestBody.builder()
+                .id(1L)
+                .name(AnimeCreator.createValidUpdateAnime().getName())
+                .build());
+
+        Assertions.assertThatExceptionOfType(BadRequestException.class)
+                .isThrownBy(() -> animeService.replaceAll(animeReplaceRequestBodies))
+                .withMessageContaining("Anime not Found");
+    }
+}
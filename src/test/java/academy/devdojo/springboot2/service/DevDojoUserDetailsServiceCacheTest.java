@@ -0,0 +1,52 @@
+package academy.devdojo.springboot2.service;
+
+import academy.devdojo.springboot2.config.CacheConfig;
+import academy.devdojo.springboot2.domain.DevDojoUser;
+import academy.devdojo.springboot2.repository.DevDojoUserRepository;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.cache.CacheAutoConfiguration;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest(classes = {DevDojoUserDetailsService.class, CacheConfig.class})
+@ImportAutoConfiguration(CacheAutoConfiguration.class)
+@DisplayName("Tests for DevDojo User Details Service caching")
+class DevDojoUserDetailsServiceCacheTest {
+
+    @Autowired
+    DevDojoUserDetailsService devDojoUserDetailsService;
+
+    @Autowired
+    CacheManager cacheManager;
+
+    @MockBean
+    DevDojoUserRepository devDojoUserRepository;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager.getCache(CacheConfig.DEV_DOJO_USERS).clear();
+        when(devDojoUserRepository.findByUsername("devdojo"))
+                .thenReturn(DevDojoUser.builder().username("devdojo").authorities("ROLE_USER").build());
+    }
+
+    @Test
+    @DisplayName("loadUserByUsername reads the repository once when called twice")
+    void loadUserByUsername_ReadsRepositoryOnce_WhenCalledTwice() {
+        UserDetails first = devDojoUserDetailsService.loadUserByUsername("devdojo");
+        UserDetails second = devDojoUserDetailsService.loadUserByUsername("devdojo");
+
+        Assertions.assertThat(second).isSameAs(first);
+        verify(devDojoUserRepository, times(1)).findByUsername("devdojo");
+    }
+}
@@ -1,6 +1,7 @@
 package academy.devdojo.springboot2.util;
 
 import academy.devdojo.springboot2.domain.Anime;
+import academy.devdojo.springboot2.responses.AnimeSummary;
 
 public class AnimeCreator {
 
@@ -25,4 +26,12 @@ public class AnimeCreator {
                 .name("Hajume no Ippo 2")
                 .build();
     }
+
+    public static AnimeSummary createValidAnimeSummary() {
+        return AnimeSummary.builder()
+                .id(1L)
+                .name("Hajume no Ippo")
+                .version(0L)
+                .build();
+    }
 }
@@ -0,0 +1,47 @@
+package academy.devdojo.springboot2.wrapper;
+
+import academy.devdojo.springboot2.responses.AnimeSummary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+@DisplayName("Tests for Compact Page")
+class CompactPageTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectMapper objectMapper;
+    private List<AnimeSummary> animes;
+    private Page<AnimeSummary> page;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        animes = LongStream.rangeClosed(1, PAGE_SIZE)
+                .mapToObj(id -> new AnimeSummary(id, "Hajime no Ippo " + id, 0L))
+                .collect(Collectors.toList());
+        page = new PageImpl<>(animes, PageRequest.of(0, PAGE_SIZE), 1000);
+    }
+
+    @Test
+    @DisplayName("of writes a smaller envelope than the Spring Data page when successful")
+    void of_WritesSmallerEnvelopeThanPageImpl_WhenSuccessful() throws JsonProcessingException {
+        int contentBytes = objectMapper.writeValueAsBytes(animes).length;
+
+        int pageEnvelopeBytes = objectMapper.writeValueAsBytes(page).length - contentBytes;
+        int compactEnvelopeBytes = objectMapper.writeValueAsBytes(CompactPage.of(page)).length - contentBytes;
+
+        Assertions.assertThat(compactEnvelopeBytes).isPositive().isLessThan(pageEnvelopeBytes - 150);
+    }
+}
@@ -0,0 +1,57 @@
+package academy.devdojo.springboot2.wrapper;
+
+import academy.devdojo.springboot2.responses.AnimeSummary;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.assertj.core.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+@DisplayName("Tests for Compact Slice")
+class CompactSliceTest {
+
+    private static final int PAGE_SIZE = 20;
+
+    private ObjectMapper objectMapper;
+    private List<AnimeSummary> animes;
+    private Slice<AnimeSummary> slice;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        animes = LongStream.rangeClosed(1, PAGE_SIZE)
+                .mapToObj(id -> new AnimeSummary(id, "Hajime no Ippo " + id, 0L))
+                .collect(Collectors.toList());
+        slice = new SliceImpl<>(animes, PageRequest.of(0, PAGE_SIZE), true);
+    }
+
+    @Test
+    @DisplayName("of writes a smaller envelope than the Spring Data slice when successful")
+    void of_WritesSmallerEnvelopeThanSliceImpl_WhenSuccessful() throws JsonProcessingException {
+        int contentBytes = objectMapper.writeValueAsBytes(animes).length;
+
+        int sliceEnvelopeBytes = objectMapper.writeValueAsBytes(slice).length - contentBytes;
+        int compactEnvelopeBytes = objectMapper.writeValueAsBytes(CompactSlice.of(slice)).length - contentBytes;
+
+        Assertions.assertThat(compactEnvelopeBytes).isPositive().isLessThan(sliceEnvelopeBytes - 150);
+    }
+
+    @Test
+    @DisplayName("of keeps the slice fields and tells whether there is a next slice when successful")
+    void of_KeepsSliceFields_WhenSuccessful() throws JsonProcessingException {
+        String json = objectMapper.writeValueAsString(CompactSlice.of(slice));
+
+        Assertions.assertThat(objectMapper.readTree(json).fieldNames()).toIterable()
+                .containsExactlyInAnyOrder("content", "number", "size", "numberOfElements", "first", "last", "hasNext");
+        Assertions.assertThat(objectMapper.readTree(json).get("hasNext").asBoolean()).isTrue();
+    }
+}